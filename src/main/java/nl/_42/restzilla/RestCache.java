@@ -0,0 +1,101 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla;
+
+import com.google.common.cache.Weigher;
+import nl._42.restzilla.service.count.CountEstimator;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Cache configuration on a REST resource. When enabled, the generated
+ * service caches its entities in a bounded, in-process cache.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+@Documented
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface RestCache {
+
+    /**
+     * Determines if entities are cached.
+     * @return the enabled
+     */
+    boolean enabled() default false;
+
+    /**
+     * The maximum number of cached entries, ignored when a maximum weight is defined.
+     * @return the maximum size
+     */
+    long maximumSize() default 1000;
+
+    /**
+     * (Optional) the maximum total weight of all cached entries, as calculated by the weigher.
+     * @return the maximum weight
+     */
+    long maximumWeight() default -1;
+
+    /**
+     * (Optional) the weigher of cached entries, required when a maximum weight is defined.
+     * @return the weigher
+     */
+    Class<? extends Weigher> weigher() default Weigher.class;
+
+    /**
+     * (Optional) the number of seconds an entry remains cached after it was written.
+     * @return the time to live, in seconds
+     */
+    long timeToLive() default -1;
+
+    /**
+     * (Optional) the number of seconds a missing identifier remains cached, in a
+     * separate cache with the same maximum size. Typically shorter than the time
+     * to live of entities. By default missing identifiers are not cached.
+     * @return the negative time to live, in seconds
+     */
+    long negativeTimeToLive() default -1;
+
+    /**
+     * Determines if lists and pages are cached as well.
+     * @return the list caching
+     */
+    boolean lists() default false;
+
+    /**
+     * (Optional) the number of seconds the total count of pages remains cached.
+     * Counts are invalidated on every write, and also cached when entities are not.
+     * By default each page performs an exact count.
+     * @return the count time to live, in seconds
+     */
+    long countTimeToLive() default -1;
+
+    /**
+     * (Optional) estimates the total count of pages, rather than counting exactly.
+     * Estimates are cached just like counts. Also applies when entities are not cached.
+     * @return the count estimator
+     */
+    Class<? extends CountEstimator> countEstimator() default CountEstimator.class;
+
+    /**
+     * Determines if the encoded responses of single entities are cached, skipping
+     * both mapping and serialization on a hit. Responses are cached independently
+     * of the entities, using the same maximum size and time to live.
+     * @return the response caching
+     */
+    boolean responses() default false;
+
+    /**
+     * Determines if hit and miss statistics are recorded.
+     * @return the statistics
+     */
+    boolean stats() default true;
+
+}
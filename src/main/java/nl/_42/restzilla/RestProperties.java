@@ -10,21 +10,43 @@ public class RestProperties {
     public static final String DEFAULT_SIZE_NAME = "restzilla.default-size";
     public static final String MAX_SIZE_NAME = "restzilla.max-size";
     public static final String DEFAULT_SORT_NAME = "restzilla.default-sort";
+    public static final String OWNERSHIP_MAP_NAME = "restzilla.ownership-map";
+    public static final String EAGER_INIT_NAME = "restzilla.eager-init";
+    public static final String WARM_UP_REQUESTS_NAME = "restzilla.warm-up-requests";
+    public static final String PATCH_MAPPER_CACHE_SIZE_NAME = "restzilla.patch-mapper-cache-size";
+    public static final String BULK_CHUNK_SIZE_NAME = "restzilla.bulk-chunk-size";
+    public static final String STREAM_FETCH_SIZE_NAME = "restzilla.stream-fetch-size";
+
+    public static final int DEFAULT_BULK_CHUNK_SIZE = 500;
+    public static final int DEFAULT_STREAM_FETCH_SIZE = 500;
 
     private static final int DEFAULT_PAGE = 0;
     private static final int DEFAULT_SIZE = 10;
     private static final int MAX_SIZE = 250;
+    private static final int PATCH_MAPPER_CACHE_SIZE = 256;
 
     private final int defaultPage;
     private final int defaultSize;
     private final int maxPageSize;
     private final Sort defaultSort;
+    private final boolean ownershipMap;
+    private final boolean eagerInit;
+    private final int warmUpRequests;
+    private final int patchMapperCacheSize;
+    private final int bulkChunkSize;
+    private final int streamFetchSize;
 
     public RestProperties() {
         this.defaultPage = DEFAULT_PAGE;
         this.defaultSize = DEFAULT_SIZE;
         this.maxPageSize = MAX_SIZE;
         this.defaultSort = Sort.unsorted();
+        this.ownershipMap = false;
+        this.eagerInit = false;
+        this.warmUpRequests = 0;
+        this.patchMapperCacheSize = PATCH_MAPPER_CACHE_SIZE;
+        this.bulkChunkSize = DEFAULT_BULK_CHUNK_SIZE;
+        this.streamFetchSize = DEFAULT_STREAM_FETCH_SIZE;
     }
 
     public RestProperties(Environment environment) {
@@ -38,6 +60,13 @@ public class RestProperties {
         } else {
             this.defaultSort = Sort.unsorted();
         }
+
+        this.ownershipMap = environment.getProperty(OWNERSHIP_MAP_NAME, boolean.class, false);
+        this.eagerInit = environment.getProperty(EAGER_INIT_NAME, boolean.class, false);
+        this.warmUpRequests = environment.getProperty(WARM_UP_REQUESTS_NAME, int.class, 0);
+        this.patchMapperCacheSize = environment.getProperty(PATCH_MAPPER_CACHE_SIZE_NAME, int.class, PATCH_MAPPER_CACHE_SIZE);
+        this.bulkChunkSize = environment.getProperty(BULK_CHUNK_SIZE_NAME, int.class, DEFAULT_BULK_CHUNK_SIZE);
+        this.streamFetchSize = environment.getProperty(STREAM_FETCH_SIZE_NAME, int.class, DEFAULT_STREAM_FETCH_SIZE);
     }
 
     public int getDefaultPage() {
@@ -60,4 +89,64 @@ public class RestProperties {
         return defaultPage > 0;
     }
 
+    /**
+     * Determines if request ownership is resolved during startup. When enabled, requests
+     * are only delegated to the default handler mapping when our REST resource overlaps
+     * with a {@code @RequestMapping} for the same base path and request method.
+     *
+     * @return {@code true} when enabled, else {@code false}
+     */
+    public boolean isOwnershipMap() {
+        return ownershipMap;
+    }
+
+    /**
+     * Determines if all handler mappings, services and repositories are
+     * resolved on startup, rather than on the first request.
+     *
+     * @return {@code true} when enabled, else {@code false}
+     */
+    public boolean isEagerInit() {
+        return eagerInit;
+    }
+
+    /**
+     * The number of warm-up reads performed per resource through the
+     * service and result mapping after an eager initialization, used
+     * to prime the JIT compiler.
+     *
+     * @return the number of warm-up reads
+     */
+    public int getWarmUpRequests() {
+        return warmUpRequests;
+    }
+
+    /**
+     * The maximum number of downsized mappers cached for patch requests.
+     *
+     * @return the patch mapper cache size
+     */
+    public int getPatchMapperCacheSize() {
+        return patchMapperCacheSize;
+    }
+
+    /**
+     * The number of entities saved in bulk before flushing
+     * and detaching them from the persistence context.
+     *
+     * @return the bulk chunk size
+     */
+    public int getBulkChunkSize() {
+        return bulkChunkSize;
+    }
+
+    /**
+     * The JDBC fetch size of streamed queries, also the batch size of exports.
+     *
+     * @return the stream fetch size
+     */
+    public int getStreamFetchSize() {
+        return streamFetchSize;
+    }
+
 }
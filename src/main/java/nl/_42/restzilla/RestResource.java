@@ -3,6 +3,8 @@
  */
 package nl._42.restzilla;
 
+import nl._42.restzilla.web.identifier.IdentifierParser;
+
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
@@ -48,12 +50,25 @@ public @interface RestResource {
      */
     String basePath() default "";
 
+    /**
+     * (Optional) the parser of identifiers in our request path. When undefined
+     * we select a parser based on the identifier type.
+     * @return the identifier parser
+     */
+    Class<? extends IdentifierParser> identifierParser() default IdentifierParser.class;
+
     /**
      * (Optional) the security that should be applied on a resource.
      * @return the security
      */
     RestSecured secured() default @RestSecured;
 
+    /**
+     * (Optional) the caching of entities in the generated service.
+     * @return the cache
+     */
+    RestCache cache() default @RestCache;
+
     //
     // Query
     //
@@ -81,6 +96,22 @@ public @interface RestResource {
      * @return the paged only
      */
     boolean pagedOnly() default false;
+
+    /**
+     * Enable this when pages should be retrieved without counting the total number
+     * of entities, returning slices instead. Clients can override this per request,
+     * using the {@code count} parameter.
+     * @return the sliced
+     */
+    boolean sliced() default false;
+
+    /**
+     * Enable this to stream unpaged {@code findAll} results, each entity is mapped
+     * and written directly into the response. Memory usage remains constant,
+     * regardless of the number of entities.
+     * @return the streaming
+     */
+    boolean streaming() default false;
     
     //
     // Modification
@@ -134,4 +165,11 @@ public @interface RestResource {
      */
     RestConfig delete() default @RestConfig;
 
+    /**
+     * (Optional) the configuration of our {@code export}, which streams all entities
+     * as newline delimited JSON or JSON text sequences. Disabled by default.
+     * @return the configuration
+     */
+    RestConfig export() default @RestConfig(enabled = false);
+
 }
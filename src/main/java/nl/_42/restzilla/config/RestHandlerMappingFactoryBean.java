@@ -6,7 +6,6 @@ package nl._42.restzilla.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.beanmapper.BeanMapper;
 import io.beanmapper.config.BeanMapperBuilder;
-import io.beanmapper.utils.Classes;
 import nl._42.restzilla.RestProperties;
 import nl._42.restzilla.RestResource;
 import nl._42.restzilla.web.DefaultHandlerMappingFactory;
@@ -19,21 +18,14 @@ import nl._42.restzilla.web.security.SpelSecurityProvider;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
-import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
-import org.springframework.core.type.filter.AnnotationTypeFilter;
-import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.validation.Validator;
 import org.springframework.web.servlet.HandlerMapping;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
  * Create a REST endpoint for all entities annotated with {@link RestResource}.
  * This endpoint will provide full CRUD functionality on the entity,
@@ -109,9 +101,9 @@ class RestHandlerMappingFactoryBean implements FactoryBean<HandlerMapping>, Appl
     public final RestHandlerMapping getObject() {
         afterPropertiesSet();
 
-        RestHandlerMapping handlerMapping = new RestHandlerMapping(applicationContext, defaultHandlerMappingName);
+        RestHandlerMapping handlerMapping = new RestHandlerMapping(applicationContext, defaultHandlerMappingName, properties);
         ResourceHandlerMappingFactory handlerMappingFactory = buildHandlerMappingFactory();
-        for (Class<?> resourceClass : getAllResourceClasses()) {
+        for (Class<?> resourceClass : RestResources.scan(basePackage)) {
             ResourceHandlerMapping resourceHandlerMapping = handlerMappingFactory.build(resourceClass);
             handlerMapping.registerCustomHandler(resourceHandlerMapping);
         }
@@ -119,19 +111,6 @@ class RestHandlerMappingFactoryBean implements FactoryBean<HandlerMapping>, Appl
         return handlerMapping;
     }
     
-    private Set<Class<?>> getAllResourceClasses() {
-        Assert.notNull(basePackage, "Base package is required.");
-        
-        Set<Class<?>> entityClasses = new HashSet<Class<?>>();
-        ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
-        provider.addIncludeFilter(new AnnotationTypeFilter(RestResource.class));
-        Set<BeanDefinition> components = provider.findCandidateComponents(basePackage);
-        for (BeanDefinition component : components) {
-            entityClasses.add(Classes.forName(component.getBeanClassName()));
-        }
-        return entityClasses;
-    }
-
     /**
      * Create a new factory, responsible for creating entity handler mappings.
      * 
@@ -0,0 +1,46 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.config;
+
+import io.beanmapper.utils.Classes;
+import nl._42.restzilla.RestResource;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.Assert;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Finds the classes annotated with {@link RestResource}.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public final class RestResources {
+
+    private RestResources() {
+    }
+
+    /**
+     * Scans the base package for all classes annotated with {@link RestResource}.
+     *
+     * @param basePackage the base package
+     * @return the resource classes
+     */
+    public static Set<Class<?>> scan(String basePackage) {
+        Assert.notNull(basePackage, "Base package is required.");
+
+        Set<Class<?>> resourceClasses = new HashSet<Class<?>>();
+        ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+        provider.addIncludeFilter(new AnnotationTypeFilter(RestResource.class));
+        Set<BeanDefinition> components = provider.findCandidateComponents(basePackage);
+        for (BeanDefinition component : components) {
+            resourceClasses.add(Classes.forName(component.getBeanClassName()));
+        }
+        return resourceClasses;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Compact cache key, scoped per entity type and operation. The hash code is
+ * computed once, making lookups cheap without formatting any strings.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public final class CacheKey implements Serializable {
+
+    private final Class<?> entityType;
+
+    private final String operation;
+
+    private final Object value;
+
+    private final long generation;
+
+    private final int hashCode;
+
+    /**
+     * Construct a new cache key.
+     *
+     * @param entityType the entity type
+     * @param operation the operation name
+     * @param value the operation argument, such as an identifier
+     */
+    public CacheKey(Class<?> entityType, String operation, Object value) {
+        this(entityType, operation, value, 0L);
+    }
+
+    private CacheKey(Class<?> entityType, String operation, Object value, long generation) {
+        this.entityType = Objects.requireNonNull(entityType, "Entity type is required");
+        this.operation = Objects.requireNonNull(operation, "Operation is required");
+        this.value = value;
+        this.generation = generation;
+
+        int result = entityType.hashCode();
+        result = 31 * result + operation.hashCode();
+        result = 31 * result + Objects.hashCode(value);
+        result = 31 * result + Long.hashCode(generation);
+        this.hashCode = result;
+    }
+
+    /**
+     * Create a copy of this key, bound to a generation.
+     *
+     * @param generation the generation
+     * @return the generational key
+     */
+    public CacheKey withGeneration(long generation) {
+        return new CacheKey(entityType, operation, value, generation);
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CacheKey)) {
+            return false;
+        }
+        CacheKey other = (CacheKey) obj;
+        return hashCode == other.hashCode
+            && generation == other.generation
+            && entityType.equals(other.entityType)
+            && operation.equals(other.operation)
+            && Objects.equals(value, other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        String description = entityType.getSimpleName() + "." + operation + "(" + value + ")";
+        return generation == 0L ? description : description + "@" + generation;
+    }
+
+}
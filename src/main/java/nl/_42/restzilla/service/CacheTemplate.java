@@ -1,34 +1,326 @@
 package nl._42.restzilla.service;
 
+import com.google.common.cache.CacheBuilder;
+import nl._42.restzilla.service.cache.BoundedCache;
 import org.springframework.cache.Cache;
 import org.springframework.cache.support.NoOpCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
+/**
+ * Template for looking up cached values. Concurrent lookups of the same missing key
+ * are coalesced: only one caller loads the value, while the others wait for its result.
+ * Empty results are only cached in the separate negative cache, when configured.
+ */
 public class CacheTemplate {
 
     private static final Cache EMPTY = new NoOpCache("empty");
 
+    private static final long MAX_STATISTICS = 1000;
+
+    private static final int MIN_GENERATIONAL_KEYS = 1024;
+
+    private static final Duration DEFAULT_LOAD_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * Keys that are being loaded by the current thread, used to detect recursive lookups.
+     */
+    private static final ThreadLocal<Set<Object>> LOADING_KEYS = ThreadLocal.withInitial(HashSet::new);
+
     private final Cache cache;
 
+    /**
+     * Cache of empty results, typically with a shorter time to live, or {@code null}.
+     */
+    private final Cache negativeCache;
+
+    /**
+     * Loads in progress, per key.
+     */
+    private final ConcurrentMap<Object, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+
+    /**
+     * Load statistics, per key. Bounded to prevent unlimited growth.
+     */
+    private final com.google.common.cache.Cache<Object, LoadStatistics> statistics =
+        CacheBuilder.newBuilder().maximumSize(MAX_STATISTICS).build();
+
+    /**
+     * Generation of all list and page entries, incremented on each write. Loads that
+     * started in an older generation are not cached, as they might be stale.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Keys of the generational entries in our cache, evicted once their generation
+     * is invalidated. Otherwise these entries would never be used nor removed again.
+     */
+    private final Set<CacheKey> generationalKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Number of tracked keys that triggers removing the keys already evicted by the cache itself.
+     */
+    private volatile int generationalKeysLimit = MIN_GENERATIONAL_KEYS;
+
+    /**
+     * Maximum duration to wait for the load of another caller.
+     */
+    private volatile Duration loadTimeout = DEFAULT_LOAD_TIMEOUT;
+
     public CacheTemplate() {
         this(EMPTY);
     }
 
     public CacheTemplate(Cache cache) {
+        this(cache, null);
+    }
+
+    public CacheTemplate(Cache cache, Cache negativeCache) {
         this.cache = cache;
+        this.negativeCache = negativeCache;
     }
 
+    /**
+     * Lookup a value, loading it when not cached. Only one loader runs per key,
+     * concurrent callers wait for its result. Lookups performed while loading
+     * another value never wait, preventing recursive lookups from deadlocking.
+     * Neither do lookups in a writing transaction, as the loader might be blocked
+     * by the locks of that transaction. Callers that wait longer than the load
+     * timeout stop waiting and load the value themselves.
+     *
+     * @param key the key
+     * @param retriever retrieves the value when not cached
+     * @param <R> the value type
+     * @return the value
+     */
     @SuppressWarnings("unchecked")
-    // Using putIfAbsent causes a recursive update in certain cases
-    public <R> R lookup(final String key, final Supplier<R> retriever) {
-        Cache.ValueWrapper cached = cache.get(key);
-        if (cached == null) {
+    public <R> R lookup(final Object key, final Supplier<R> retriever) {
+        if (isPending(key)) {
+            return retriever.get(); // Modified in our transaction, invisible to others
+        }
+
+        Cache.ValueWrapper cached = getCached(key);
+        if (cached != null) {
+            return (R) cached.get();
+        }
+
+        Set<Object> loading = LOADING_KEYS.get();
+        if (!loading.isEmpty()) {
+            return load(key, retriever);
+        }
+
+        if (isWriting()) {
+            return load(key, retriever); // Our locks might block the other loader
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loads.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(key, existing, retriever);
+        }
+
+        try {
+            cached = peekCached(key); // Loaded while we registered, without counting another access
+            R result = cached != null ? (R) cached.get() : load(key, retriever);
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, future);
+        }
+    }
+
+    private <R> R load(final Object key, final Supplier<R> retriever) {
+        Set<Object> loading = LOADING_KEYS.get();
+        if (!loading.add(key)) {
+            return retriever.get(); // Recursive lookup of the same key, cannot be cached yet
+        }
+
+        try {
+            long started = generation.get();
             R result = retriever.get();
-            cache.put(key, result);
+            put(key, result, started);
+            getStatistics(key).loads.increment();
             return result;
-        } else {
-            return (R) cached.get();
+        } finally {
+            loading.remove(key);
+        }
+    }
+
+    /**
+     * Retrieve a cached value, without loading it. Keys that are modified
+     * in the current transaction are never retrieved from the cache.
+     *
+     * @param key the key
+     * @return the cached value, or {@code null} when not cached
+     */
+    public Cache.ValueWrapper get(Object key) {
+        return isPending(key) ? null : getCached(key);
+    }
+
+    /**
+     * Cache a value that was loaded in bulk, unless its key is modified in
+     * the current transaction. Empty values are only stored in the negative cache.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(Object key, Object value) {
+        if (!isPending(key)) {
+            store(key, value);
+        }
+    }
+
+    /**
+     * Cache a value that was loaded in bulk, unless its key is modified in the
+     * current transaction or any invalidation occurred since loading started.
+     *
+     * @param key the key
+     * @param value the value
+     * @param started the generation retrieved before loading
+     */
+    public void put(Object key, Object value, long started) {
+        if (isPending(key) || generation.get() != started) {
+            return;
+        }
+
+        store(key, value);
+        if (generation.get() != started) {
+            evict(key); // Invalidated while storing, the invalidation might have missed our value
+        }
+    }
+
+    private boolean isPending(Object key) {
+        PendingInvalidation pending = getPendingInvalidation();
+        return pending != null && pending.keys.contains(key);
+    }
+
+    private void store(Object key, Object value) {
+        if (!isEmpty(value)) {
+            cache.put(key, value);
+        } else if (negativeCache != null) {
+            negativeCache.put(key, value);
+        }
+    }
+
+    private Cache.ValueWrapper getCached(Object key) {
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached == null && negativeCache != null) {
+            cached = negativeCache.get(key);
+        }
+        return cached;
+    }
+
+    private Cache.ValueWrapper peekCached(Object key) {
+        Cache.ValueWrapper cached = peek(cache, key);
+        if (cached == null && negativeCache != null) {
+            cached = peek(negativeCache, key);
+        }
+        return cached;
+    }
+
+    private static Cache.ValueWrapper peek(Cache cache, Object key) {
+        return cache instanceof BoundedCache ? ((BoundedCache) cache).peek(key) : cache.get(key);
+    }
+
+    private static boolean isEmpty(Object result) {
+        return result instanceof Optional && !((Optional<?>) result).isPresent();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R await(Object key, CompletableFuture<Object> future, Supplier<R> retriever) {
+        long start = System.nanoTime();
+        try {
+            return (R) future.get(loadTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return load(key, retriever);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return load(key, retriever);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            getStatistics(key).coalesced(System.nanoTime() - start);
+        }
+    }
+
+    private static boolean isWriting() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private LoadStatistics getStatistics(Object key) {
+        LoadStatistics current = statistics.getIfPresent(key);
+        if (current == null) {
+            current = statistics.asMap().computeIfAbsent(key, k -> new LoadStatistics());
+        }
+        return current;
+    }
+
+    /**
+     * Retrieve the load statistics of the most recently loaded keys.
+     *
+     * @return the statistics per key
+     */
+    public Map<Object, LoadStatistics> getLoadStatistics() {
+        return Collections.unmodifiableMap(new HashMap<>(statistics.asMap()));
+    }
+
+    /**
+     * Lookup an entry that depends on all entities, such as a list or page. The
+     * key is bound to the current generation, and the entry is evicted once the
+     * generation is invalidated.
+     *
+     * @param key the key, excluding generation
+     * @param retriever retrieves the value when not cached
+     * @param <R> the value type
+     * @return the value
+     */
+    public <R> R lookupGeneration(final CacheKey key, final Supplier<R> retriever) {
+        if (getPendingInvalidation() != null) {
+            return retriever.get();
+        }
+
+        long current = generation.get();
+        CacheKey generational = key.withGeneration(current);
+        R result = lookup(generational, retriever);
+        track(generational);
+        if (generation.get() != current) {
+            evict(generational); // Invalidated meanwhile, the invalidation might have missed our entry
+        }
+        return result;
+    }
+
+    private void track(CacheKey key) {
+        if (generationalKeys.add(key) && generationalKeys.size() > generationalKeysLimit) {
+            generationalKeys.removeIf(tracked -> peekCached(tracked) == null);
+            generationalKeysLimit = Math.max(MIN_GENERATIONAL_KEYS, generationalKeys.size() * 2);
         }
     }
 
@@ -36,8 +328,185 @@ public class CacheTemplate {
         return cache;
     }
 
+    public Cache getNegativeCache() {
+        return negativeCache;
+    }
+
+    /**
+     * Configure how long callers wait for the load of another caller,
+     * before loading the value themselves.
+     *
+     * @param loadTimeout the timeout
+     */
+    public void setLoadTimeout(Duration loadTimeout) {
+        this.loadTimeout = loadTimeout;
+    }
+
+    /**
+     * Evict a single entry.
+     *
+     * @param key the key
+     */
+    public void evict(Object key) {
+        cache.evict(key);
+        if (negativeCache != null) {
+            negativeCache.evict(key);
+        }
+    }
+
+    /**
+     * Evict the entries and invalidate all generational entries. Within a transaction
+     * this is postponed until after commit, and skipped on rollback. Until then, the
+     * transaction itself bypasses the cache for these entries.
+     *
+     * @param keys the keys to evict
+     */
+    public void invalidate(Collection<?> keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateNow(keys);
+            return;
+        }
+
+        PendingInvalidation pending = getPendingInvalidation();
+        if (pending == null) {
+            pending = new PendingInvalidation();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.keys.addAll(keys);
+    }
+
+    /**
+     * Evict the entries and invalidate all generational entries immediately,
+     * regardless of the current transaction.
+     *
+     * @param keys the keys to evict
+     */
+    public void invalidateNow(Collection<?> keys) {
+        invalidateGeneration(); // First, so loads that are still running will not be cached
+        for (Object key : keys) {
+            loads.remove(key);
+            evict(key);
+        }
+    }
+
+    /**
+     * Determine if the current transaction has invalidations that are not yet
+     * committed. Values read in such a transaction should not be cached.
+     *
+     * @return {@code true} when pending, else {@code false}
+     */
+    public boolean hasPendingInvalidation() {
+        return getPendingInvalidation() != null;
+    }
+
+    private PendingInvalidation getPendingInvalidation() {
+        return (PendingInvalidation) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /**
+     * Invalidate all generational entries, such as lists and pages.
+     */
+    public void invalidateGeneration() {
+        long current = generation.incrementAndGet();
+        for (CacheKey key : generationalKeys) {
+            if (key.getGeneration() < current && generationalKeys.remove(key)) {
+                evict(key);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the current generation.
+     *
+     * @return the generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
     public void clear() {
+        invalidateGeneration();
+        generationalKeys.clear();
+        loads.clear();
         cache.clear();
+        if (negativeCache != null) {
+            negativeCache.clear();
+        }
+    }
+
+    /**
+     * Invalidation that is performed after the current transaction commits.
+     */
+    private final class PendingInvalidation implements TransactionSynchronization {
+
+        private final Set<Object> keys = new HashSet<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheTemplate.this);
+            if (status == STATUS_COMMITTED) {
+                invalidateNow(keys);
+            }
+        }
+
+    }
+
+    /**
+     * Statistics of the loads of a single key.
+     */
+    public static final class LoadStatistics {
+
+        private final LongAdder loads = new LongAdder();
+
+        private final LongAdder coalesced = new LongAdder();
+
+        private final LongAdder waitNanos = new LongAdder();
+
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        private void coalesced(long nanos) {
+            coalesced.increment();
+            waitNanos.add(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        /**
+         * Retrieve the number of times the value was loaded.
+         *
+         * @return the loads
+         */
+        public long getLoads() {
+            return loads.sum();
+        }
+
+        /**
+         * Retrieve the number of lookups that waited for another load, rather than loading.
+         *
+         * @return the coalesced lookups
+         */
+        public long getCoalesced() {
+            return coalesced.sum();
+        }
+
+        /**
+         * Retrieve the total time spent waiting for another load.
+         *
+         * @return the wait time, in nanoseconds
+         */
+        public long getWaitNanos() {
+            return waitNanos.sum();
+        }
+
+        /**
+         * Retrieve the longest time spent waiting for another load.
+         *
+         * @return the maximum wait time, in nanoseconds
+         */
+        public long getMaxWaitNanos() {
+            return maxWaitNanos.get();
+        }
+
     }
 
 }
@@ -7,6 +7,8 @@ import org.springframework.data.domain.Persistable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -27,6 +29,23 @@ public interface CrudService<T extends Persistable<ID>, ID extends Serializable>
      */
     <S extends T> S save(S entity);
 
+    /**
+     * Saves all given entities in a single transaction. Use the returned
+     * instances for further operations as they could be wrapped objects.
+     *
+     * @param <S> the result type
+     * @param entities the entities
+     * @return the saved entities, in the same order
+     */
+    @Transactional
+    default <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> results = new ArrayList<>();
+        for (S entity : entities) {
+            results.add(save(entity));
+        }
+        return results;
+    }
+
     /**
      * Deletes the entity.
      *
@@ -3,17 +3,61 @@
  */
 package nl._42.restzilla.service;
 
+import com.google.common.collect.Lists;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Id;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import nl._42.restzilla.RestProperties;
 import nl._42.restzilla.registry.EntityClassAware;
+import nl._42.restzilla.service.cache.CacheInvalidation;
+import nl._42.restzilla.service.cache.CacheInvalidationBus;
+import nl._42.restzilla.service.cache.CacheInvalidationListener;
+import nl._42.restzilla.service.cache.CacheInvalidationSource;
+import nl._42.restzilla.service.count.CountEstimator;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.Cache;
 import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Persistable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.util.AnnotationDetectionFieldCallback;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ReflectionUtils;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -22,7 +66,17 @@ import static java.util.Objects.requireNonNull;
  * @author Jeroen van Schagen
  * @since Aug 21, 2015
  */
-public class DefaultCrudService<T extends Persistable<ID>, ID extends Serializable> extends AbstractCrudService<T, ID> implements EntityClassAware<T> {
+public class DefaultCrudService<T extends Persistable<ID>, ID extends Serializable> extends AbstractCrudService<T, ID> implements EntityClassAware<T>, CacheInvalidationSource {
+
+    private static final String FIND = "find";
+    private static final String FIND_ALL = "findAll";
+    private static final String FIND_SLICE = "findSlice";
+    private static final String COUNT = "count";
+
+    /**
+     * Maximum number of identifiers in a single {@code IN} clause, as some databases limit it to 1000.
+     */
+    private static final int MAX_IN_SIZE = 1000;
 
     /**
      * Cache used internally for storing entities.
@@ -31,6 +85,35 @@ public class DefaultCrudService<T extends Persistable<ID>, ID extends Serializab
 
     private final Class<T> entityClass;
 
+    /**
+     * Number of entities saved in bulk before flushing and detaching them from the persistence context.
+     */
+    private int bulkChunkSize = RestProperties.DEFAULT_BULK_CHUNK_SIZE;
+
+    /**
+     * JDBC fetch size of streamed queries.
+     */
+    private int streamFetchSize = RestProperties.DEFAULT_STREAM_FETCH_SIZE;
+
+    /**
+     * Determines if lists and pages are cached.
+     */
+    private boolean listCaching = false;
+
+    /**
+     * Cache of the total count of pages, holding a single entry that is only
+     * valid for the generation it was counted in.
+     */
+    private Cache countCache;
+
+    private CountEstimator countEstimator;
+
+    private EntityManager entityManager;
+
+    private CacheInvalidationBus invalidationBus;
+
+    private final List<CacheInvalidationListener> invalidationListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Construct a new service.
      */
@@ -75,11 +158,327 @@ public class DefaultCrudService<T extends Persistable<ID>, ID extends Serializab
     @Transactional(readOnly = true)
     public Optional<T> find(final ID id) {
         return cache.lookup(
-            format("find(%s)", id),
+            findKey(id),
             () -> super.find(id)
         );
     }
 
+    private CacheKey findKey(Object id) {
+        return new CacheKey(entityClass, FIND, id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<T> findAll() {
+        return listCaching ? findAll(Sort.unsorted()) : super.findAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Cached entities are resolved first, only the missing entities are retrieved
+     * in chunked {@code IN} queries and then cached. Results are returned in the
+     * order of their identifiers, identifiers without entity are skipped.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<T> findAll(final Iterable<ID> ids) {
+        requireNonNull(ids, "Cannot find null identifiers");
+        Set<ID> unique = new LinkedHashSet<>();
+        ids.forEach(unique::add);
+
+        long started = cache.getGeneration();
+        Map<ID, Optional<T>> found = new HashMap<>(unique.size() * 2);
+        List<ID> missing = new ArrayList<>();
+        for (ID id : unique) {
+            Cache.ValueWrapper cached = cache.get(findKey(id));
+            if (cached != null) {
+                found.put(id, (Optional<T>) cached.get());
+            } else {
+                missing.add(id);
+            }
+        }
+
+        for (List<ID> chunk : Lists.partition(missing, MAX_IN_SIZE)) {
+            for (T entity : getRepository().findAllById(chunk)) {
+                found.put(entity.getId(), Optional.of(entity));
+            }
+            for (ID id : chunk) {
+                Optional<T> entity = found.computeIfAbsent(id, k -> Optional.empty());
+                cache.put(findKey(id), entity, started);
+            }
+        }
+
+        List<T> results = new ArrayList<>(unique.size());
+        for (ID id : unique) {
+            found.get(id).ifPresent(results::add);
+        }
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<T> findAll(final Sort sort) {
+        if (!listCaching) {
+            return super.findAll(sort);
+        }
+
+        return cache.lookupGeneration(
+            new CacheKey(entityClass, FIND_ALL, sort),
+            () -> Collections.unmodifiableList(super.findAll(sort))
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Entities are streamed from the database with our fetch size, and detached from
+     * the persistence context after their action. Entities are therefore only managed
+     * during the action, and should not be retained. Other entities of the current
+     * persistence context remain managed, unless they were also streamed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(final Sort sort, final Consumer<? super T> action) {
+        if (entityManager == null) {
+            super.forEach(sort, action);
+            return;
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query).setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize);
+        try (Stream<T> entities = typedQuery.getResultStream()) {
+            Iterator<T> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                T entity = iterator.next();
+                action.accept(entity);
+                entityManager.detach(entity);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Each batch is retrieved with a keyset query on the primary key, so later
+     * batches are as fast as the first, and then detached from the persistence context.
+     * Without an entity manager the pages of the repository are traversed instead,
+     * ordered by the property annotated with {@link Id}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachAfter(final ID after, final int batchSize, final Consumer<? super T> action) {
+        if (entityManager == null) {
+            forEachPageAfter(after, batchSize, action);
+            return;
+        }
+
+        String idName = getIdName();
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        ID cursor = after;
+        List<T> batch;
+        do {
+            CriteriaQuery<T> query = builder.createQuery(entityClass);
+            Root<T> root = query.from(entityClass);
+            Path<Comparable> id = root.get(idName);
+            if (cursor != null) {
+                query.where(builder.greaterThan(id, (Comparable) cursor));
+            }
+            query.select(root).orderBy(builder.asc(id));
+
+            batch = entityManager.createQuery(query).setMaxResults(batchSize).getResultList();
+            for (T entity : batch) {
+                action.accept(entity);
+                cursor = entity.getId();
+                entityManager.detach(entity);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private void forEachPageAfter(ID after, int batchSize, Consumer<? super T> action) {
+        AnnotationDetectionFieldCallback callback = new AnnotationDetectionFieldCallback(Id.class);
+        ReflectionUtils.doWithFields(entityClass, callback);
+        if (callback.getField() == null) {
+            super.forEachAfter(after, batchSize, action);
+            return;
+        }
+
+        Pageable pageable = PageRequest.of(0, batchSize, Sort.by(callback.getField().getName()));
+        Slice<T> page;
+        do {
+            page = findSlice(pageable);
+            for (T entity : page) {
+                if (after == null || ((Comparable) entity.getId()).compareTo(after) > 0) {
+                    action.accept(entity);
+                }
+            }
+            pageable = pageable.next();
+        } while (page.hasNext());
+    }
+
+    private String getIdName() {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * The identifier is appended to the sort, making each position unique.
+     * Null values of optional attributes are ordered last when ascending,
+     * and first when descending.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Window<T> findAll(final KeysetScrollPosition position, final Sort sort, final int limit) {
+        requireNonNull(entityManager, "Entity manager is required for keyset pagination");
+        requireNonNull(position, "Position is required");
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit should be positive, but was: " + limit);
+        }
+        Sort unique = KeysetQuery.unique(sort, getIdName());
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        if (!position.isInitial()) {
+            query.where(KeysetQuery.after(builder, root, unique, position.getKeys()));
+        }
+        query.select(root).orderBy(KeysetQuery.orders(builder, root, unique));
+
+        List<T> entities = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+        boolean hasNext = entities.size() > limit;
+        List<T> content = hasNext ? entities.subList(0, limit) : entities;
+        return Window.from(content, index -> ScrollPosition.forward(KeysetQuery.keysOf(content.get(index), unique)), hasNext);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<T> findAll(final Pageable pageable) {
+        if (!listCaching) {
+            return doFindAll(pageable);
+        }
+        if (pageable.isUnpaged()) {
+            List<T> content = findAll(pageable.getSort());
+            return new PageImpl<>(content, pageable, content.size());
+        }
+
+        Pageable normalized = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        return cache.lookupGeneration(
+            new CacheKey(entityClass, FIND_ALL, normalized),
+            () -> doFindAll(normalized)
+        );
+    }
+
+    /**
+     * Retrieve a page, using our cached or estimated count when configured.
+     * Pages that are not full are never counted at all.
+     */
+    private Page<T> doFindAll(final Pageable pageable) {
+        if (entityManager == null || pageable.isUnpaged() || (countCache == null && countEstimator == null)) {
+            return super.findAll(pageable);
+        }
+
+        List<T> content = findRange(pageable, pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, this::countAll);
+    }
+
+    /**
+     * Count all entities, preferring our cached count and then our estimator.
+     * Counts are not cached while the current transaction has pending writes.
+     */
+    private long countAll() {
+        if (countCache == null || cache.hasPendingInvalidation()) {
+            return doCountAll();
+        }
+
+        CacheKey key = new CacheKey(entityClass, COUNT, null);
+        long generation = cache.getGeneration();
+        Cache.ValueWrapper cached = countCache.get(key);
+        if (cached != null && cached.get() instanceof GenerationalCount cachedCount && cachedCount.generation == generation) {
+            return cachedCount.value;
+        }
+
+        long count = doCountAll();
+        if (cache.getGeneration() == generation) {
+            countCache.put(key, new GenerationalCount(generation, count));
+        }
+        return count;
+    }
+
+    private long doCountAll() {
+        if (countEstimator != null) {
+            Long estimate = countEstimator.estimate(entityClass);
+            if (estimate != null) {
+                return estimate;
+            }
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        query.select(builder.count(query.from(entityClass)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * One more entity than the page size is retrieved, to determine if there is
+     * a next slice. No count query is performed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<T> findSlice(final Pageable pageable) {
+        if (entityManager == null) {
+            return super.findSlice(pageable);
+        }
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(findAll(pageable.getSort()), pageable, false);
+        }
+
+        Pageable normalized = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        if (!listCaching) {
+            return doFindSlice(normalized);
+        }
+        return cache.lookupGeneration(
+            new CacheKey(entityClass, FIND_SLICE, normalized),
+            () -> doFindSlice(normalized)
+        );
+    }
+
+    private Slice<T> doFindSlice(final Pageable pageable) {
+        List<T> entities = findRange(pageable, pageable.getPageSize() + 1);
+        boolean hasNext = entities.size() > pageable.getPageSize();
+        List<T> content = hasNext ? new ArrayList<>(entities.subList(0, pageable.getPageSize())) : entities;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    private List<T> findRange(final Pageable pageable, final int maxResults) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        query.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        return entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(maxResults)
+            .getResultList();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -88,10 +487,53 @@ public class DefaultCrudService<T extends Persistable<ID>, ID extends Serializab
     public <S extends T> S save(S entity) {
         requireNonNull(entity, "Cannot save a null entity");
         S result = getRepository().save(entity);
-        cache.clear();
+        invalidate(result);
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Every chunk of entities is flushed and detached from the persistence
+     * context, allowing JDBC batch inserts and keeping the session small.
+     * Other entities of the current transaction remain managed.
+     * The cache is only invalidated once, after all entities are saved.
+     * Note that the returned entities are therefore detached.
+     */
+    @Override
+    @Transactional
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        requireNonNull(entities, "Cannot save null entities");
+        List<S> results = new ArrayList<>();
+        List<S> chunk = new ArrayList<>();
+        for (S entity : entities) {
+            requireNonNull(entity, "Cannot save a null entity");
+            S result = getRepository().save(entity);
+            results.add(result);
+            chunk.add(result);
+            if (chunk.size() >= bulkChunkSize) {
+                flushAndDetach(chunk);
+                chunk.clear();
+            }
+        }
+        flushAndDetach(chunk);
+        List<ID> ids = new ArrayList<>(results.size());
+        for (S result : results) {
+            ids.add(result.getId());
+        }
+        invalidate(ids);
+        return results;
+    }
+
+    private void flushAndDetach(List<? extends T> chunk) {
+        getRepository().flush();
+        if (entityManager != null) {
+            for (T entity : chunk) {
+                entityManager.detach(entity);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -100,7 +542,85 @@ public class DefaultCrudService<T extends Persistable<ID>, ID extends Serializab
     public void delete(T entity) {
         requireNonNull(entity, "Cannot delete a null entity");
         getRepository().delete(entity);
-        cache.clear();
+        invalidate(entity);
+    }
+
+    private void invalidate(T entity) {
+        if (entity.getId() != null) {
+            invalidate(Collections.singletonList(entity.getId()));
+        } else {
+            invalidate(Collections.<ID> emptyList());
+        }
+    }
+
+    /**
+     * Evict the cached entities, and invalidate all lists and pages, after commit.
+     * Entries of other entities remain cached. Entities loaded in the current request
+     * are forgotten immediately, as our write might affect any of their views. The invalidation is also published
+     * to our listeners and the other nodes, when an invalidation bus is configured.
+     */
+    private void invalidate(List<ID> ids) {
+        cache.invalidate(toKeys(ids));
+        RequestIdentityMap.clear();
+        if (invalidationBus != null || !invalidationListeners.isEmpty()) {
+            CacheInvalidation invalidation = CacheInvalidation.of(entityClass.getName(), ids);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                    @Override
+                    public void afterCommit() {
+                        publish(invalidation);
+                    }
+
+                });
+            } else {
+                publish(invalidation);
+            }
+        }
+    }
+
+    private void publish(CacheInvalidation invalidation) {
+        notifyListeners(invalidation);
+        if (invalidationBus != null) {
+            invalidationBus.publish(invalidation);
+        }
+    }
+
+    private void notifyListeners(CacheInvalidation invalidation) {
+        for (CacheInvalidationListener listener : invalidationListeners) {
+            listener.onInvalidation(invalidation);
+        }
+    }
+
+    private List<CacheKey> toKeys(List<?> ids) {
+        List<CacheKey> keys = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            keys.add(findKey(id));
+        }
+        return keys;
+    }
+
+    /**
+     * Handles the invalidations published by other nodes.
+     */
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (entityClass.getName().equals(invalidation.getEntityType())) {
+            if (invalidation.isAll()) {
+                cache.clear();
+            } else {
+                cache.invalidateNow(toKeys(invalidation.getIds()));
+            }
+            notifyListeners(invalidation);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addInvalidationListener(CacheInvalidationListener listener) {
+        requireNonNull(listener, "Listener is required");
+        invalidationListeners.add(listener);
     }
 
     /**
@@ -109,7 +629,90 @@ public class DefaultCrudService<T extends Persistable<ID>, ID extends Serializab
      */
     protected void setCache(Cache cache) {
         requireNonNull(cache, "Cache is required when calling setCache");
-        this.cache = new CacheTemplate(cache);
+        this.cache = new CacheTemplate(cache, this.cache.getNegativeCache());
+    }
+
+    /**
+     * Modifies the cache of missing identifiers. By default missing identifiers
+     * are not cached. The entries are evicted once a matching entity is saved.
+     * @param negativeCache the new negative cache, typically with a short time to live
+     */
+    protected void setNegativeCache(Cache negativeCache) {
+        requireNonNull(negativeCache, "Cache is required when calling setNegativeCache");
+        this.cache = new CacheTemplate(this.cache.getCache(), negativeCache);
+    }
+
+    /**
+     * Enables caching of lists and pages, by default only entities are cached.
+     * Cached lists are invalidated on every write and cannot be modified.
+     * @param listCaching if lists and pages should be cached
+     */
+    protected void setListCaching(boolean listCaching) {
+        this.listCaching = listCaching;
+    }
+
+    /**
+     * Caches the total count of pages, which is invalidated on every write.
+     * By default each page performs an exact count.
+     * @param countCache the count cache, typically with a time to live
+     */
+    protected void setCountCache(Cache countCache) {
+        requireNonNull(countCache, "Cache is required when calling setCountCache");
+        this.countCache = countCache;
+    }
+
+    /**
+     * Estimates the total count of pages, rather than counting exactly.
+     * @param countEstimator the count estimator
+     */
+    protected void setCountEstimator(CountEstimator countEstimator) {
+        requireNonNull(countEstimator, "Estimator is required when calling setCountEstimator");
+        this.countEstimator = countEstimator;
+    }
+
+    /**
+     * Modifies the number of entities saved in bulk before flushing
+     * and detaching them from the persistence context.
+     * @param bulkChunkSize the bulk chunk size
+     */
+    protected void setBulkChunkSize(int bulkChunkSize) {
+        if (bulkChunkSize < 1) {
+            throw new IllegalArgumentException("Bulk chunk size should be positive");
+        }
+        this.bulkChunkSize = bulkChunkSize;
+    }
+
+    /**
+     * Modifies the JDBC fetch size of streamed queries, also the batch
+     * size of exports.
+     * @param streamFetchSize the stream fetch size
+     */
+    protected void setStreamFetchSize(int streamFetchSize) {
+        if (streamFetchSize < 1) {
+            throw new IllegalArgumentException("Stream fetch size should be positive");
+        }
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    @Autowired(required = false)
+    public void setProperties(RestProperties properties) {
+        setBulkChunkSize(properties.getBulkChunkSize());
+        setStreamFetchSize(properties.getStreamFetchSize());
+    }
+
+    @PersistenceContext
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Publish our invalidations to, and receive the invalidations of, other nodes.
+     * @param invalidationBus the invalidation bus
+     */
+    @Autowired(required = false)
+    public void setInvalidationBus(CacheInvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this::onInvalidation);
     }
 
     /**
@@ -120,4 +723,20 @@ public class DefaultCrudService<T extends Persistable<ID>, ID extends Serializab
         return entityClass;
     }
 
+    /**
+     * Total count, bound to the generation it was counted in.
+     */
+    private static final class GenerationalCount implements Serializable {
+
+        private final long generation;
+
+        private final long value;
+
+        private GenerationalCount(long generation, long value) {
+            this.generation = generation;
+            this.value = value;
+        }
+
+    }
+
 }
@@ -3,13 +3,24 @@
  */
 package nl._42.restzilla.service;
 
+import nl._42.restzilla.RestCache;
+import nl._42.restzilla.RestResource;
+import nl._42.restzilla.config.EnableRest;
+import nl._42.restzilla.config.RestResources;
+import nl._42.restzilla.service.cache.BoundedCache;
+import nl._42.restzilla.service.count.CountEstimator;
+import nl._42.restzilla.web.RestInformation;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.util.StringUtils;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Responsible for generating new CRUD service and repository instances.
@@ -21,6 +32,8 @@ public class DefaultServiceFactory implements CrudServiceFactory {
 
     private final ConfigurableListableBeanFactory beanFactory;
 
+    private Map<Class<?>, RestCache> resourceCaches;
+
     /**
      * Create a new {@link DefaultServiceFactory} instance.
      *
@@ -36,14 +49,84 @@ public class DefaultServiceFactory implements CrudServiceFactory {
       final JpaRepository<T, ID> repository
     ) {
 
-        CrudService<T, ID> service = new DefaultCrudService<>(entityClass, repository);
+        DefaultCrudService<T, ID> service = new DefaultCrudService<>(entityClass, repository);
         beanFactory.autowireBean(service);
 
         final String beanName = nameOf(entityClass);
+        configureCache(service, entityClass, beanName);
         Object proxy = beanFactory.applyBeanPostProcessorsAfterInitialization(service, beanName);
         return (CrudService<T, ID>) proxy;
     }
 
+    /**
+     * Configures the cache as defined on {@code @RestResource}. The caches are registered
+     * as singleton beans, named after the service, exposing their statistics.
+     */
+    private void configureCache(DefaultCrudService<?, ?> service, Class<?> entityClass, String beanName) {
+        RestCache config = findCache(entityClass);
+        if (config == null) {
+            return;
+        }
+
+        if (config.enabled()) {
+            BoundedCache cache = new BoundedCache(beanName, config);
+            service.setCache(cache);
+            service.setListCaching(config.lists());
+
+            registerIfAbsent(beanName + "Cache", cache);
+
+            if (config.negativeTimeToLive() > 0) {
+                Duration timeToLive = Duration.ofSeconds(config.negativeTimeToLive());
+                BoundedCache negativeCache = new BoundedCache(beanName + "Negative", config.maximumSize(), timeToLive);
+                service.setNegativeCache(negativeCache);
+                registerIfAbsent(beanName + "NegativeCache", negativeCache);
+            }
+        }
+
+        if (config.countTimeToLive() > 0) {
+            BoundedCache countCache = new BoundedCache(beanName + "Count", 1, Duration.ofSeconds(config.countTimeToLive()));
+            service.setCountCache(countCache);
+            registerIfAbsent(beanName + "CountCache", countCache);
+        }
+        if (config.countEstimator() != CountEstimator.class) {
+            service.setCountEstimator(beanFactory.createBean(config.countEstimator()));
+        }
+    }
+
+    /**
+     * Finds the cache configuration of an entity, declared either on the entity itself
+     * or on a resource class referring to the entity by {@code entityType}. Resource
+     * classes are resolved like the handler mapping does, so both use the same settings.
+     */
+    private RestCache findCache(Class<?> entityClass) {
+        RestResource annotation = AnnotationUtils.findAnnotation(entityClass, RestResource.class);
+        if (annotation != null) {
+            return annotation.cache();
+        }
+        return getResourceCaches().get(entityClass);
+    }
+
+    private synchronized Map<Class<?>, RestCache> getResourceCaches() {
+        if (resourceCaches == null) {
+            Map<Class<?>, RestCache> caches = new HashMap<>();
+            for (String beanName : beanFactory.getBeanNamesForAnnotation(EnableRest.class)) {
+                EnableRest enableRest = beanFactory.findAnnotationOnBean(beanName, EnableRest.class);
+                for (Class<?> resourceClass : RestResources.scan(enableRest.basePackageClass().getPackage().getName())) {
+                    RestInformation information = new RestInformation(resourceClass);
+                    caches.putIfAbsent(information.getEntityClass(), information.getCache());
+                }
+            }
+            resourceCaches = caches;
+        }
+        return resourceCaches;
+    }
+
+    private void registerIfAbsent(String name, Object singleton) {
+        if (!beanFactory.containsBean(name)) {
+            beanFactory.registerSingleton(name, singleton);
+        }
+    }
+
     private static String nameOf(Class<?> entityClass) {
         return StringUtils.uncapitalize(entityClass.getSimpleName()) + "Service";
     }
@@ -0,0 +1,201 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Nulls;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Bindable;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.time.DateTimeException;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds keyset (seek) queries, which continue after the sort values of the last
+ * retrieved entity rather than skipping an offset. The database can then seek
+ * directly to the next entity, making deep pages as fast as the first page.
+ * <br><br>
+ * The identifier is always appended to make the order unique. Null values of
+ * optional attributes are ordered as the highest value, last when ascending and
+ * first when descending, on each database. Mandatory attributes are compared
+ * without null checks, so the database can still seek through their index.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+final class KeysetQuery {
+
+    private KeysetQuery() {
+    }
+
+    /**
+     * Ensure the sort ends with the identifier, making each position unique.
+     *
+     * @param sort the sort
+     * @param idName the identifier property name
+     * @return the unique sort
+     */
+    static Sort unique(Sort sort, String idName) {
+        if (sort.getOrderFor(idName) != null) {
+            return sort;
+        }
+        return sort.and(Sort.by(idName));
+    }
+
+    /**
+     * Build the order of a keyset query, with an explicit placement of null values
+     * for optional attributes.
+     *
+     * @param builder the criteria builder
+     * @param root the query root
+     * @param sort the unique sort
+     * @return the orders
+     */
+    static List<Order> orders(CriteriaBuilder builder, Root<?> root, Sort sort) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<?> path = getPath(root, order.getProperty());
+            if (!isOptional(root, order.getProperty())) {
+                orders.add(order.isAscending() ? builder.asc(path) : builder.desc(path));
+            } else {
+                orders.add(order.isAscending() ? builder.asc(path, Nulls.LAST) : builder.desc(path, Nulls.FIRST));
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Build the predicate that only matches entities after the keys, such as
+     * {@code (a > :a) OR (a = :a AND b > :b)} for a sort on {@code a, b}.
+     * Optional attributes are also matched with {@code IS NULL} and {@code IS NOT NULL}.
+     *
+     * @param builder the criteria builder
+     * @param root the query root
+     * @param sort the unique sort
+     * @param keys the sort values of the last retrieved entity
+     * @return the predicate
+     * @throws IllegalArgumentException whenever the keys do not match the sort
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    static Predicate after(CriteriaBuilder builder, Root<?> root, Sort sort, Map<String, ?> keys) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equals = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (!keys.containsKey(order.getProperty())) {
+                throw new IllegalArgumentException("Position does not match sort, missing: " + order.getProperty());
+            }
+
+            Path<Comparable> path = getPath(root, order.getProperty());
+            Comparable value = (Comparable) convert(keys.get(order.getProperty()), path.getJavaType());
+
+            boolean optional = isOptional(root, order.getProperty());
+            if (value == null && !optional) {
+                throw new IllegalArgumentException("Position has no value for mandatory property: " + order.getProperty());
+            }
+
+            Predicate next;
+            if (optional) {
+                next = nextOptional(builder, path, value, order.isAscending());
+            } else {
+                next = order.isAscending() ? builder.greaterThan(path, value) : builder.lessThan(path, value);
+            }
+            if (next != null) {
+                List<Predicate> alternative = new ArrayList<>(equals);
+                alternative.add(next);
+                alternatives.add(builder.and(alternative.toArray(new Predicate[0])));
+            }
+            equals.add(value == null ? builder.isNull(path) : builder.equal(path, value));
+        }
+        return builder.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Build the predicate that matches values after the key, where null is the highest value.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Predicate nextOptional(CriteriaBuilder builder, Path<Comparable> path, Comparable value, boolean ascending) {
+        if (value == null) {
+            return ascending ? null : builder.isNotNull(path);
+        }
+        return ascending ? builder.or(builder.greaterThan(path, value), builder.isNull(path)) : builder.lessThan(path, value);
+    }
+
+    /**
+     * Determine if a property can be null, which is the case when any attribute on its path is optional.
+     */
+    private static boolean isOptional(Root<?> root, String property) {
+        Path<?> path = root;
+        for (String part : property.split("\\.")) {
+            path = path.get(part);
+            Bindable<?> model = path.getModel();
+            if (model instanceof SingularAttribute<?, ?> attribute && attribute.isOptional() && !attribute.getJavaType().isPrimitive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <X> Path<X> getPath(Root<?> root, String property) {
+        Path<?> path = root;
+        for (String part : property.split("\\.")) {
+            path = path.get(part);
+        }
+        return (Path<X>) path;
+    }
+
+    /**
+     * Convert a key, typically a string from a client cursor, into the property type.
+     *
+     * @throws IllegalArgumentException whenever the key cannot be converted
+     */
+    private static Object convert(Object value, Class<?> type) {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        try {
+            if (value instanceof String && Temporal.class.isAssignableFrom(type)) {
+                Method parse = ReflectionUtils.findMethod(type, "parse", CharSequence.class);
+                if (parse != null) {
+                    return ReflectionUtils.invokeMethod(parse, null, value);
+                }
+            }
+            return DefaultConversionService.getSharedInstance().convert(value, type);
+        } catch (ConversionException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid position value: " + value, e);
+        }
+    }
+
+    /**
+     * Retrieve the sort values of an entity, used as position of the next query.
+     *
+     * @param entity the entity
+     * @param sort the unique sort
+     * @return the keys, per sort property
+     */
+    static Map<String, Object> keysOf(Object entity, Sort sort) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            keys.put(order.getProperty(), wrapper.getPropertyValue(order.getProperty()));
+        }
+        return keys;
+    }
+
+}
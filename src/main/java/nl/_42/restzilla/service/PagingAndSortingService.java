@@ -2,16 +2,20 @@ package nl._42.restzilla.service;
 
 import com.google.common.collect.Lists;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Persistable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static java.lang.String.format;
 
@@ -54,6 +58,49 @@ public interface PagingAndSortingService<T extends Persistable<ID>, ID extends S
     return (List<T>) getRepository().findAll(sort);
   }
 
+  /**
+   * Performs an action for each entity, sorted. Implementations may stream
+   * the entities, rather than loading all entities into memory.
+   *
+   * @param sort the sort
+   * @param action the action to perform on each entity
+   */
+  @Transactional(readOnly = true)
+  default void forEach(Sort sort, Consumer<? super T> action) {
+    findAll(sort).forEach(action);
+  }
+
+  /**
+   * Performs an action for each entity with an identifier greater than the cursor,
+   * ordered by identifier. Entities are retrieved in batches, allowing clients to
+   * resume from the last identifier they received. Not supported by default, as
+   * the identifier property of the entity is unknown.
+   *
+   * @param after the cursor, or {@code null} to start at the first entity
+   * @param batchSize the maximum number of entities retrieved per query
+   * @param action the action to perform on each entity
+   * @throws UnsupportedOperationException when the entities cannot be retrieved in batches
+   */
+  @Transactional(readOnly = true)
+  default void forEachAfter(ID after, int batchSize, Consumer<? super T> action) {
+    throw new UnsupportedOperationException("Export is not supported by " + getClass().getName());
+  }
+
+  /**
+   * Returns the entities after a keyset position, sorted. Rather than skipping
+   * an offset, the query continues after the sort values of the last retrieved
+   * entity, keeping the performance of deep pages constant.
+   *
+   * @param position the position, initial for the first window
+   * @param sort the sort
+   * @param limit the maximum number of entities
+   * @return the window of entities, with the position of each entity
+   */
+  @Transactional(readOnly = true)
+  default Window<T> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+    throw new UnsupportedOperationException("Keyset pagination is not supported by " + getClass().getName());
+  }
+
   /**
    * Returns a page of entities.
    *
@@ -65,6 +112,18 @@ public interface PagingAndSortingService<T extends Persistable<ID>, ID extends S
     return getRepository().findAll(pageable);
   }
 
+  /**
+   * Returns a slice of entities, without counting the total number of entities.
+   * By default a page is retrieved, which does perform a count.
+   *
+   * @param pageable the pageable
+   * @return the entities in that slice
+   */
+  @Transactional(readOnly = true)
+  default Slice<T> findSlice(Pageable pageable) {
+    return findAll(pageable);
+  }
+
   /**
    * Retrieve an optional entity based on its identifier.
    *
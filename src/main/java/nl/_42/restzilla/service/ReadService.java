@@ -4,13 +4,17 @@
 package nl._42.restzilla.service;
 
 import nl._42.restzilla.registry.CrudServiceRegistry;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Persistable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
 
@@ -48,6 +52,33 @@ public class ReadService {
         return getService(entityClass).findAll(sort);
     }
 
+    /**
+     * Perform an action for each entity, with a certain sort.
+     * 
+     * @param <T> the entity type
+     * @param <ID> the identifier type
+     * @param entityClass the entity class
+     * @param sort the sorting
+     * @param action the action to perform on each entity
+     */
+    public <T extends Persistable<ID>, ID extends Serializable> void forEach(Class<T> entityClass, Sort sort, Consumer<? super T> action) {
+        getService(entityClass).forEach(sort, action);
+    }
+
+    /**
+     * Perform an action for each entity after a cursor, ordered by identifier.
+     * 
+     * @param <T> the entity type
+     * @param <ID> the identifier type
+     * @param entityClass the entity class
+     * @param after the cursor, or {@code null} to start at the first entity
+     * @param batchSize the maximum number of entities retrieved per query
+     * @param action the action to perform on each entity
+     */
+    public <T extends Persistable<ID>, ID extends Serializable> void forEachAfter(Class<T> entityClass, ID after, int batchSize, Consumer<? super T> action) {
+        getService(entityClass).forEachAfter(after, batchSize, action);
+    }
+
     /**
      * Retrieve a page of entities.
      * 
@@ -62,7 +93,49 @@ public class ReadService {
     }
 
     /**
-     * Retrieve a specific entity, with an identifier.
+     * Retrieve a slice of entities, without counting.
+     * 
+     * @param <T> the entity type
+     * @param <ID> the identifier type
+     * @param entityClass the entity class
+     * @param pageable the pageable
+     * @return the slice of entities
+     */
+    public <T extends Persistable<ID>, ID extends Serializable> Slice<T> findSlice(Class<T> entityClass, Pageable pageable) {
+        return getService(entityClass).findSlice(pageable);
+    }
+
+    /**
+     * Retrieve the entities after a keyset position.
+     * 
+     * @param <T> the entity type
+     * @param <ID> the identifier type
+     * @param entityClass the entity class
+     * @param position the position, initial for the first window
+     * @param sort the sorting
+     * @param limit the maximum number of entities
+     * @return the window of entities
+     */
+    public <T extends Persistable<ID>, ID extends Serializable> Window<T> findAll(Class<T> entityClass, KeysetScrollPosition position, Sort sort, int limit) {
+        return getService(entityClass).findAll(position, sort, limit);
+    }
+
+    /**
+     * Retrieve all entities with the provided identifiers.
+     * 
+     * @param <T> the entity type
+     * @param <ID> the identifier type
+     * @param entityClass the entity class
+     * @param ids the identifiers
+     * @return the found entities, in any order
+     */
+    public <T extends Persistable<ID>, ID extends Serializable> List<T> findAll(Class<T> entityClass, Iterable<ID> ids) {
+        return getService(entityClass).findAll(ids);
+    }
+
+    /**
+     * Retrieve a specific entity, with an identifier. Within a request,
+     * each entity is only retrieved once, see {@link RequestIdentityMap}.
      * 
      * @param <T> the entity type
      * @param <ID> the identifier type
@@ -71,7 +144,7 @@ public class ReadService {
      * @return the result entity, if any
      */
     public <T extends Persistable<ID>, ID extends Serializable> T getOne(Class<T> entityClass, ID id) {
-        return getService(entityClass).getOne(id);
+        return RequestIdentityMap.get(entityClass, id, () -> getService(entityClass).getOne(id));
     }
     
     private <T extends Persistable<ID>, ID extends Serializable> CrudService<T, ID> getService(Class<T> entityClass) {
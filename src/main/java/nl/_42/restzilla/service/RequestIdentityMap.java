@@ -0,0 +1,82 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Identity map bound to the current request, ensuring each entity is loaded
+ * at most once per request. Works regardless of any shared cache, and is
+ * discarded when the request completes. Outside of a request, entities are
+ * always loaded.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public final class RequestIdentityMap {
+
+    private static final String ATTRIBUTE_NAME = RequestIdentityMap.class.getName();
+
+    private static final String GET_ONE = "getOne";
+
+    private RequestIdentityMap() {
+    }
+
+    /**
+     * Retrieve an entity, loading it when not yet loaded in the current request.
+     *
+     * @param entityClass the entity class
+     * @param id the identifier
+     * @param loader loads the entity, when not yet loaded
+     * @param <T> the entity type
+     * @return the entity
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(Class<?> entityClass, Object id, Supplier<T> loader) {
+        Map<CacheKey, Object> entities = getEntities(true);
+        if (entities == null) {
+            return loader.get();
+        }
+
+        CacheKey key = new CacheKey(entityClass, GET_ONE, id);
+        Object entity = entities.get(key);
+        if (entity == null) {
+            entity = loader.get();
+            entities.put(key, entity);
+        }
+        return (T) entity;
+    }
+
+    /**
+     * Forget all entities loaded in the current request, invoked after each write.
+     */
+    public static void clear() {
+        Map<CacheKey, Object> entities = getEntities(false);
+        if (entities != null) {
+            entities.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<CacheKey, Object> getEntities(boolean create) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        Map<CacheKey, Object> entities = (Map<CacheKey, Object>) attributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        if (entities == null && create) {
+            entities = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE_NAME, entities, RequestAttributes.SCOPE_REQUEST);
+            attributes.registerDestructionCallback(ATTRIBUTE_NAME, entities::clear, RequestAttributes.SCOPE_REQUEST);
+        }
+        return entities;
+    }
+
+}
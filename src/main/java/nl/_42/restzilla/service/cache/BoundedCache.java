@@ -0,0 +1,373 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import nl._42.restzilla.RestCache;
+import org.springframework.beans.BeanUtils;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-process cache, limited by entry count or weight and an optional time to live.
+ * Caches limited by entry count use W-TinyLFU: new entries are always admitted into a
+ * small window, holding one percent of the entries. Entries leaving the window are only
+ * admitted into the main space when requested more frequently than its least recently
+ * used entry, which they then replace. Suddenly popular entries can thus build up their
+ * frequency in the window, while one-time lookups cannot evict frequently used entries.
+ * Caches limited by weight are evicted by Guava, without admission.
+ * <br><br>
+ * Reads never block: accesses are recorded in a lossy buffer, which is applied to the
+ * access order and frequency sketch by whichever thread acquires the eviction lock.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+    private static final int READ_BUFFER_SIZE = 128;
+
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+    private static final int DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+
+    private final String name;
+
+    private final Cache<Object, Object> store;
+
+    private final long maximumSize;
+
+    private final long windowSize;
+
+    /**
+     * Access frequencies, only updated while holding the eviction lock.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * Keys of the window and main space, in access order. The main space may contain
+     * keys that expired, which are removed once they become the eviction victim.
+     */
+    private final LinkedHashMap<Object, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LinkedHashMap<Object, Boolean> main = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Guards the window, main space and sketch.
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * Recently accessed keys, overwritten when not drained in time.
+     */
+    private final AtomicReferenceArray<Object> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+
+    private final AtomicLong reads = new AtomicLong();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Construct a new cache, limited by entry count.
+     *
+     * @param name the cache name
+     * @param maximumSize the maximum number of entries
+     * @param timeToLive the time an entry remains cached after writing, or {@code null} when unlimited
+     */
+    public BoundedCache(String name, long maximumSize, Duration timeToLive) {
+        this(name, builder(timeToLive, true), maximumSize);
+    }
+
+    /**
+     * Construct a new cache, based on an annotation.
+     *
+     * @param name the cache name
+     * @param config the cache configuration
+     */
+    public BoundedCache(String name, RestCache config) {
+        this(name, configure(config), config.maximumWeight() >= 0 ? -1 : config.maximumSize());
+    }
+
+    private BoundedCache(String name, CacheBuilder<Object, Object> builder, long maximumSize) {
+        super(true);
+        this.name = name;
+        this.store = builder.build();
+        this.maximumSize = maximumSize;
+        this.windowSize = Math.max(1, maximumSize / 100);
+        this.sketch = maximumSize >= 0 ? new FrequencySketch(maximumSize) : null;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static CacheBuilder<Object, Object> configure(RestCache config) {
+        Duration timeToLive = config.timeToLive() >= 0 ? Duration.ofSeconds(config.timeToLive()) : null;
+        CacheBuilder<Object, Object> builder = builder(timeToLive, config.stats());
+        if (config.maximumWeight() >= 0) {
+            if (Weigher.class.equals(config.weigher())) {
+                throw new IllegalArgumentException("A weigher is required when defining a maximum weight");
+            }
+            Weigher weigher = BeanUtils.instantiateClass(config.weigher());
+            return builder.maximumWeight(config.maximumWeight()).weigher(weigher);
+        }
+        return builder;
+    }
+
+    private static CacheBuilder<Object, Object> builder(Duration timeToLive, boolean stats) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+        if (timeToLive != null) {
+            builder.expireAfterWrite(timeToLive);
+        }
+        if (stats) {
+            builder.recordStats();
+        }
+        return builder;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object lookup(Object key) {
+        Object value = store.getIfPresent(key);
+        if (sketch != null) {
+            recordAccess(key);
+        }
+        return value;
+    }
+
+    /**
+     * Record an access without blocking, draining the buffer when it fills up
+     * and no other thread is draining it already.
+     */
+    private void recordAccess(Object key) {
+        long index = reads.getAndIncrement();
+        readBuffer.lazySet((int) (index & READ_BUFFER_MASK), key);
+        if ((index & (DRAIN_THRESHOLD - 1)) == DRAIN_THRESHOLD - 1 && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void drainReadBuffer() {
+        for (int index = 0; index < READ_BUFFER_SIZE; index++) {
+            Object key = readBuffer.getAndSet(index, null);
+            if (key != null) {
+                sketch.increment(key);
+                if (window.get(key) == null) {
+                    main.get(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieve a cached value, without recording an access or statistics.
+     *
+     * @param key the key
+     * @return the cached value, or {@code null} when not cached
+     */
+    public ValueWrapper peek(Object key) {
+        Object value = store.asMap().get(key);
+        return value != null ? toValueWrapper(value) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void put(Object key, Object value) {
+        if (sketch == null) {
+            store.put(key, toStoreValue(value));
+            return;
+        }
+
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            boolean present = store.asMap().containsKey(key);
+            store.put(key, toStoreValue(value));
+            if (!present) {
+                append(key);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Append a new key to the window, and move the eldest keys of the window
+     * into the main space when admitted.
+     */
+    private void append(Object key) {
+        main.remove(key);
+        window.put(key, Boolean.TRUE);
+        while (window.size() > windowSize) {
+            Iterator<Object> keys = window.keySet().iterator();
+            Object candidate = keys.next();
+            keys.remove();
+            admit(candidate);
+        }
+        if (main.size() > maximumSize * 2) {
+            main.keySet().removeIf(expired -> !store.asMap().containsKey(expired));
+        }
+    }
+
+    /**
+     * Admit a candidate from the window into the main space. When full, the
+     * candidate has to be requested more frequently than the least recently
+     * used entry of the main space, which it then replaces.
+     */
+    private void admit(Object candidate) {
+        if (!store.asMap().containsKey(candidate)) {
+            return; // Expired or evicted
+        }
+
+        if (store.size() > maximumSize) {
+            store.cleanUp(); // Remove expired entries, which are still counted in the size
+        }
+        if (store.size() > maximumSize) {
+            Object victim = findVictim();
+            if (victim == null || sketch.frequency(candidate) <= sketch.frequency(victim)) {
+                store.invalidate(candidate);
+                rejected.increment();
+                return;
+            }
+            main.remove(victim);
+            store.invalidate(victim);
+        }
+        main.put(candidate, Boolean.TRUE);
+    }
+
+    /**
+     * Find the least recently used entry of the main space, removing expired keys.
+     */
+    private Object findVictim() {
+        Iterator<Object> keys = main.keySet().iterator();
+        while (keys.hasNext()) {
+            Object key = keys.next();
+            if (store.asMap().containsKey(key)) {
+                return key;
+            }
+            keys.remove();
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        try {
+            T value = (T) fromStoreValue(store.get(key, () -> toStoreValue(valueLoader.call())));
+            if (sketch != null) {
+                evictionLock.lock();
+                try {
+                    drainReadBuffer();
+                    if (!window.containsKey(key) && !main.containsKey(key)) {
+                        append(key);
+                    }
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+            return value;
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void evict(Object key) {
+        store.invalidate(key);
+        if (sketch != null) {
+            evictionLock.lock();
+            try {
+                window.remove(key);
+                main.remove(key);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        store.invalidateAll();
+        if (sketch != null) {
+            evictionLock.lock();
+            try {
+                window.clear();
+                main.clear();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return store;
+    }
+
+    /**
+     * Retrieve the hit and miss statistics, only recorded when enabled.
+     *
+     * @return the statistics
+     */
+    public CacheStats getStats() {
+        return store.stats();
+    }
+
+    /**
+     * Retrieve the number of entries that were not admitted, because the cache was full.
+     *
+     * @return the rejected entries
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Retrieve the number of cached entries.
+     *
+     * @return the size
+     */
+    public long size() {
+        return store.size();
+    }
+
+}
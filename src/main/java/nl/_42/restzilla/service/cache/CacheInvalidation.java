@@ -0,0 +1,83 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service.cache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Invalidation of cached entities, published after a write.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public final class CacheInvalidation implements Serializable {
+
+    private final String entityType;
+
+    private final List<Serializable> ids;
+
+    private CacheInvalidation(String entityType, List<Serializable> ids) {
+        this.entityType = Objects.requireNonNull(entityType, "Entity type is required");
+        this.ids = ids;
+    }
+
+    /**
+     * Invalidate the entities with these identifiers, and all lists of that entity type.
+     *
+     * @param entityType the entity type
+     * @param ids the identifiers, can be empty
+     * @return the invalidation
+     */
+    public static CacheInvalidation of(String entityType, Collection<? extends Serializable> ids) {
+        return new CacheInvalidation(entityType, Collections.unmodifiableList(new ArrayList<>(ids)));
+    }
+
+    /**
+     * Invalidate all cached entities and lists of an entity type.
+     *
+     * @param entityType the entity type
+     * @return the invalidation
+     */
+    public static CacheInvalidation all(String entityType) {
+        return new CacheInvalidation(entityType, null);
+    }
+
+    /**
+     * Retrieve the name of the entity class.
+     *
+     * @return the entity type
+     */
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Retrieve the identifiers to invalidate.
+     *
+     * @return the identifiers, or {@code null} when all entities are invalidated
+     */
+    public List<Serializable> getIds() {
+        return ids;
+    }
+
+    /**
+     * Determine if all entities are invalidated.
+     *
+     * @return {@code true} when all entities are invalidated, else {@code false}
+     */
+    public boolean isAll() {
+        return ids == null;
+    }
+
+    @Override
+    public String toString() {
+        return entityType + (isAll() ? "[*]" : ids.toString());
+    }
+
+}
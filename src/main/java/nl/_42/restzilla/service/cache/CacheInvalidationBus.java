@@ -0,0 +1,30 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service.cache;
+
+/**
+ * Distributes cache invalidations across application nodes. Services publish their
+ * invalidations after commit, and evict whatever the other nodes publish. Register
+ * an implementation as bean to enable distributed invalidation.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Publish an invalidation to the other nodes.
+     *
+     * @param invalidation the invalidation
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Subscribe to the invalidations of other nodes.
+     *
+     * @param listener the listener
+     */
+    void subscribe(CacheInvalidationListener listener);
+
+}
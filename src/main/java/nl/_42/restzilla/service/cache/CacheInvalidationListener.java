@@ -0,0 +1,22 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service.cache;
+
+/**
+ * Receives the cache invalidations published on a bus.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+@FunctionalInterface
+public interface CacheInvalidationListener {
+
+    /**
+     * Handle an invalidation.
+     *
+     * @param invalidation the invalidation
+     */
+    void onInvalidation(CacheInvalidation invalidation);
+
+}
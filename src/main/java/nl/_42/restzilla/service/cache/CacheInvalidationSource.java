@@ -0,0 +1,24 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service.cache;
+
+/**
+ * Components that implement this interface notify listeners whenever
+ * their cached entities become invalid, allowing derived caches to
+ * evict the same entities.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public interface CacheInvalidationSource {
+
+    /**
+     * Register a listener, notified after each committed write and
+     * each invalidation received from other nodes.
+     *
+     * @param listener the listener
+     */
+    void addInvalidationListener(CacheInvalidationListener listener);
+
+}
@@ -0,0 +1,363 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bus that distributes invalidations through a database table, requiring no
+ * infrastructure besides the database itself. Each node periodically writes its
+ * own invalidations and reads the invalidations of other nodes. The table should
+ * be created upfront:
+ *
+ * <pre>
+ * CREATE TABLE restzilla_cache_invalidation (
+ *   id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+ *   node VARCHAR(64) NOT NULL,
+ *   entity_type VARCHAR(255) NOT NULL,
+ *   identifier VARCHAR(255),
+ *   identifier_type VARCHAR(255),
+ *   created_at TIMESTAMP NOT NULL
+ * )
+ * </pre>
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public class JdbcInvalidationBus implements CacheInvalidationBus, InitializingBean, DisposableBean {
+
+    public static final String DEFAULT_TABLE_NAME = "restzilla_cache_invalidation";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcInvalidationBus.class);
+
+    /**
+     * Identifier type of rows that invalidate all entities.
+     */
+    private static final String ALL = "*";
+
+    /**
+     * Maximum number of missing identities that are awaited.
+     */
+    private static final int MAX_GAPS = 10000;
+
+    /**
+     * Maximum number of missing identities queried at once.
+     */
+    private static final int GAP_BATCH_SIZE = 500;
+
+    private static final int CLEANUP_INTERVAL = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String nodeId;
+
+    private final BlockingDeque<CacheInvalidation> outbox = new LinkedBlockingDeque<>();
+
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Identities below the last seen identity that were not yet visible, with the
+     * moment we stop waiting for them. Identities are not guaranteed to become
+     * visible in order, as a transaction may commit after a later transaction.
+     */
+    private final NavigableMap<Long, Long> gaps = new TreeMap<>();
+
+    private ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    private String tableName = DEFAULT_TABLE_NAME;
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    private Duration retention = Duration.ofHours(1);
+
+    private Duration gapTimeout = Duration.ofMinutes(1);
+
+    private ScheduledExecutorService executor;
+
+    private boolean initialized;
+
+    private long lastSeen = -1;
+
+    private int polls;
+
+    /**
+     * Construct a new bus, with a random node identifier.
+     *
+     * @param dataSource the data source containing our table
+     */
+    public JdbcInvalidationBus(DataSource dataSource) {
+        this(dataSource, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Construct a new bus.
+     *
+     * @param dataSource the data source containing our table
+     * @param nodeId the unique identifier of this node
+     */
+    public JdbcInvalidationBus(DataSource dataSource, String nodeId) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * Invalidations are written on the next poll, keeping the database out of our write path.
+     */
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        outbox.add(invalidation);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void subscribe(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Write our pending invalidations, and deliver the invalidations of other nodes.
+     */
+    public synchronized void poll() {
+        flush();
+        receive();
+        if (++polls % CLEANUP_INTERVAL == 0) {
+            cleanup();
+        }
+    }
+
+    /**
+     * Write our pending invalidations. When writing fails, the invalidations
+     * remain pending and are written on the next poll.
+     */
+    private void flush() {
+        List<CacheInvalidation> pending = new ArrayList<>();
+        outbox.drainTo(pending);
+
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (CacheInvalidation invalidation : pending) {
+            if (invalidation.isAll()) {
+                rows.add(new Object[] { nodeId, invalidation.getEntityType(), null, ALL, now });
+            } else if (invalidation.getIds().isEmpty()) {
+                rows.add(new Object[] { nodeId, invalidation.getEntityType(), null, null, now });
+            } else {
+                for (Serializable id : invalidation.getIds()) {
+                    rows.add(toRow(invalidation.getEntityType(), id, now));
+                }
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(
+                    "INSERT INTO " + tableName + " (node, entity_type, identifier, identifier_type, created_at) VALUES (?, ?, ?, ?, ?)",
+                    rows
+                );
+            } catch (RuntimeException e) {
+                for (int index = pending.size() - 1; index >= 0; index--) {
+                    outbox.addFirst(pending.get(index));
+                }
+                throw e;
+            }
+        }
+    }
+
+    private Object[] toRow(String entityType, Serializable id, Timestamp now) {
+        if (conversionService.canConvert(String.class, id.getClass())) {
+            return new Object[] { nodeId, entityType, id.toString(), id.getClass().getName(), now };
+        }
+        return new Object[] { nodeId, entityType, null, ALL, now };
+    }
+
+    private void receive() {
+        if (!initialized) {
+            Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + tableName, Long.class);
+            lastSeen = max != null ? max : -1;
+            initialized = true;
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        gaps.values().removeIf(deadline -> deadline < now);
+
+        Map<Long, CacheInvalidation> invalidations = new TreeMap<>();
+        List<Long> missing = new ArrayList<>(gaps.keySet());
+        for (int index = 0; index < missing.size(); index += GAP_BATCH_SIZE) {
+            List<Long> batch = missing.subList(index, Math.min(index + GAP_BATCH_SIZE, missing.size()));
+            String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+            read("id IN (" + placeholders + ")", batch.toArray(), invalidations);
+        }
+        read("id > ?", new Object[] { lastSeen }, invalidations);
+
+        for (long id : invalidations.keySet()) {
+            gaps.remove(id);
+            if (id > lastSeen) {
+                for (long gap = Math.max(lastSeen + 1, id - MAX_GAPS); gap < id; gap++) {
+                    gaps.put(gap, now + gapTimeout.toMillis());
+                }
+                lastSeen = id;
+            }
+        }
+        while (gaps.size() > MAX_GAPS) {
+            LOGGER.warn("Stopped waiting for cache invalidation {}, too many invalidations are missing", gaps.firstKey());
+            gaps.pollFirstEntry();
+        }
+
+        for (CacheInvalidation invalidation : invalidations.values()) {
+            if (invalidation != null) {
+                deliver(invalidation);
+            }
+        }
+    }
+
+    /**
+     * Read the rows matching our condition, by identity. Rows of our own node are
+     * included without an invalidation, so their identity is marked as seen.
+     */
+    private void read(String condition, Object[] args, Map<Long, CacheInvalidation> invalidations) {
+        jdbcTemplate.query(
+            "SELECT id, node, entity_type, identifier, identifier_type FROM " + tableName + " WHERE " + condition,
+            rs -> {
+                CacheInvalidation invalidation = null;
+                if (!nodeId.equals(rs.getString("node"))) {
+                    invalidation = toInvalidation(rs.getString("entity_type"), rs.getString("identifier"), rs.getString("identifier_type"));
+                }
+                invalidations.put(rs.getLong("id"), invalidation);
+            },
+            args
+        );
+    }
+
+    private CacheInvalidation toInvalidation(String entityType, String identifier, String identifierType) {
+        if (identifierType == null) {
+            return CacheInvalidation.of(entityType, Collections.emptyList());
+        } else if (ALL.equals(identifierType)) {
+            return CacheInvalidation.all(entityType);
+        }
+
+        try {
+            Class<?> type = ClassUtils.forName(identifierType, getClass().getClassLoader());
+            Serializable id = (Serializable) conversionService.convert(identifier, type);
+            return CacheInvalidation.of(entityType, Collections.singletonList(id));
+        } catch (ClassNotFoundException | RuntimeException e) {
+            LOGGER.warn("Could not convert identifier '{}' of {}, invalidating all", identifier, entityType, e);
+            return CacheInvalidation.all(entityType);
+        }
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(invalidation);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not handle cache invalidation {}", invalidation, e);
+            }
+        }
+    }
+
+    private void cleanup() {
+        Timestamp expired = new Timestamp(System.currentTimeMillis() - retention.toMillis());
+        jdbcTemplate.update("DELETE FROM " + tableName + " WHERE created_at < ?", expired);
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not poll cache invalidations", e);
+        }
+    }
+
+    /**
+     * Start polling in the background.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "restzilla-cache-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = pollInterval.toMillis();
+        executor.scheduleWithFixedDelay(this::pollQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop polling, writing our last invalidations.
+     */
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        try {
+            synchronized (this) {
+                flush();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not write cache invalidations", e);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setConversionService(ConversionService conversionService) {
+        this.conversionService = conversionService;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    /**
+     * Configure how long we keep reading missing identities, that belong to
+     * transactions that have not yet committed. Should exceed the duration of
+     * the longest transaction, and stay below the retention.
+     *
+     * @param gapTimeout the timeout
+     */
+    public void setGapTimeout(Duration gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+
+}
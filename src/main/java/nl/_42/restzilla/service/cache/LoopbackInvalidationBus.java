@@ -0,0 +1,38 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-JVM bus, delivering each invalidation directly to all subscribed listeners.
+ * Mainly useful for tests and for applications with multiple contexts in one JVM.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public class LoopbackInvalidationBus implements CacheInvalidationBus {
+
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        for (CacheInvalidationListener listener : listeners) {
+            listener.onInvalidation(invalidation);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void subscribe(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+}
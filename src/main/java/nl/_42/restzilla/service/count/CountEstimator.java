@@ -0,0 +1,24 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service.count;
+
+/**
+ * Estimates the total number of entities, typically from database statistics,
+ * avoiding an exact count on each page. Estimates are only used for pages of
+ * all entities, and may lag behind recent modifications.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public interface CountEstimator {
+
+    /**
+     * Estimate the number of entities.
+     *
+     * @param entityClass the entity class
+     * @return the estimated count, or {@code null} when unknown, falling back on an exact count
+     */
+    Long estimate(Class<?> entityClass);
+
+}
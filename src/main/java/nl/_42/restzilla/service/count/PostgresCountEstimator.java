@@ -0,0 +1,56 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.service.count;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.List;
+
+/**
+ * Estimates counts from the PostgreSQL planner statistics, as maintained
+ * by {@code ANALYZE} and autovacuum. Tables that were never analyzed have
+ * no estimate and are counted exactly. Table names are resolved from the
+ * Hibernate mapping, so this estimator requires Hibernate as JPA provider.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public class PostgresCountEstimator implements CountEstimator {
+
+    private EntityManager entityManager;
+
+    public PostgresCountEstimator() {
+    }
+
+    public PostgresCountEstimator(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long estimate(Class<?> entityClass) {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        String tableName = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityClass).getRootTableName();
+
+        List<?> estimates = entityManager.createNativeQuery("SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass(?1)")
+            .setParameter(1, tableName)
+            .getResultList();
+
+        Number estimate = estimates.isEmpty() ? null : (Number) estimates.get(0);
+        if (estimate == null || estimate.longValue() < 0) {
+            return null;
+        }
+        return estimate.longValue();
+    }
+
+    @PersistenceContext
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+}
@@ -1,17 +1,31 @@
 package nl._42.restzilla.web;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.io.CharStreams;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.beanmapper.BeanMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import nl._42.restzilla.RestConfig;
 import nl._42.restzilla.RestProperties;
 import nl._42.restzilla.registry.CrudServiceRegistry;
 import nl._42.restzilla.service.CrudService;
 import nl._42.restzilla.service.ReadService;
+import nl._42.restzilla.service.cache.CacheInvalidationSource;
+import nl._42.restzilla.web.cache.ResponseCache;
+import nl._42.restzilla.web.identifier.IdentifierParser;
+import nl._42.restzilla.web.identifier.IdentifierParsers;
 import nl._42.restzilla.web.mapping.BeanMapperAdapter;
 import nl._42.restzilla.web.mapping.Mapper;
+import nl._42.restzilla.web.mapping.PatchMapperCache;
 import nl._42.restzilla.web.query.CrudServiceListable;
+import nl._42.restzilla.web.query.CursorPage;
 import nl._42.restzilla.web.query.Listable;
 import nl._42.restzilla.web.query.MappingListable;
 import nl._42.restzilla.web.query.ReadServiceListable;
@@ -21,29 +35,43 @@ import nl._42.restzilla.web.util.PageableResolver;
 import nl._42.restzilla.web.util.UrlUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindException;
 import org.springframework.validation.Validator;
-import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.ServletRequestBindingException;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.method.HandlerMethod;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
-import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
-import static org.springframework.web.bind.annotation.RequestMethod.GET;
 import static org.springframework.web.bind.annotation.RequestMethod.PATCH;
-import static org.springframework.web.bind.annotation.RequestMethod.POST;
-import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
 /**
  * Default implementation of the {@link ResourceHandlerMappingFactory}.
@@ -52,9 +80,9 @@ import static org.springframework.web.bind.annotation.RequestMethod.PUT;
  * @since Aug 21, 2015
  */
 public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFactory {
-    
-    private static final String ARRAY_JSON_START = "[";
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultHandlerMappingFactory.class);
+    
     private final ObjectMapper objectMapper;
     
     private final ConversionService conversionService;
@@ -67,10 +95,16 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
 
     private final RestProperties properties;
 
+    private final PatchMapperCache patchMappers;
+
     private ReadService readService;
 
     private CrudServiceRegistry crudServiceRegistry;
 
+    private PlatformTransactionManager transactionManager;
+
+    private EntityManager entityManager;
+
     /**
      * Instantiate a new {@link DefaultHandlerMappingFactory}.
      * 
@@ -99,6 +133,7 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
         this.securityProvider = securityProvider;
         this.validator = validator;
         this.properties = properties;
+        this.patchMappers = new PatchMapperCache(beanMapper, properties.getPatchMapperCacheSize());
     }
 
     /**
@@ -117,6 +152,13 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
         
         private final Mapper mapper;
 
+        private final IdentifierParser<?> identifierParser;
+
+        /**
+         * Encoded JSON responses of find one, only when enabled.
+         */
+        private ResponseCache responseCache;
+
         /**
          * Always access this field by {@code getEntityService()} as it is initialized lazy.
          */
@@ -125,6 +167,10 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
         public DefaultCrudController(RestInformation information) {
             this.information = information;
             this.mapper = new BeanMapperAdapter(beanMapper, information);
+            this.identifierParser = IdentifierParsers.of(information, conversionService);
+            if (information.getCache().responses()) {
+                this.responseCache = new ResponseCache(information.getCache());
+            }
         }
         
         //
@@ -137,19 +183,138 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
          * @return the entities, in result type
          */
         @ResponseBody
-        public Object findAll(HttpServletRequest request) {
+        public Object findAll(HttpServletRequest request, HttpServletResponse response) throws Exception {
             ensureIsReadable(information.findAll().secured(), request);
 
             Listable<?> listable = buildListable();
             Sort sort = PageableResolver.getSort(request, listable.getEntityClass(), properties);
-            if (information.isPagedOnly() || PageableResolver.isSupported(request)) {
+            if (PageableResolver.isKeyset(request)) {
+                return CursorPage.of(findWindow(listable, extractPosition(request), sort, PageableResolver.getSize(request, properties)));
+            } else if (information.isPagedOnly() || PageableResolver.isSupported(request)) {
                 Pageable pageable = PageableResolver.getPageable(request, sort, properties);
-                return listable.findAll(pageable);
+                if (PageableResolver.isCounted(request, !information.isSliced())) {
+                    return listable.findAll(pageable);
+                } else {
+                    return listable.findSlice(pageable);
+                }
+            } else if (information.isStreaming() && acceptsJson(request)) {
+                streamAll(sort, response);
+                return null;
             } else {
                 return listable.findAll(sort);
             }
         }
 
+        /**
+         * Writes all entities directly into the response, one by one, as they are
+         * retrieved from the database. Once started, errors can no longer be reported
+         * with a status code, as the response is already committed.
+         */
+        private void streamAll(Sort sort, HttpServletResponse response) throws IOException {
+            RestInformation.ResultInformation findAll = information.getResultInfo(information.findAll());
+            Class<?> resultType = findAll.getResultType();
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+                generator.writeStartArray();
+                Consumer<Object> action = entity -> {
+                    try {
+                        writer.writeValue(generator, mapper.map(entity, resultType));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+
+                try {
+                    if (information.hasCustomQuery(findAll)) {
+                        readService.forEach((Class) findAll.getQueryType(), sort, action);
+                    } else {
+                        entityService.forEach(sort, action);
+                    }
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                generator.writeEndArray();
+            }
+        }
+
+        /**
+         * Export all entities, ordered by identifier: /?after={id}
+         * 
+         * @param request the request, accepting one of our export formats
+         * @param response the response, written directly
+         * @return nothing, as the response is written directly
+         */
+        @ResponseBody
+        public Object export(HttpServletRequest request, HttpServletResponse response) throws Exception {
+            ensureIsReadable(information.export().secured(), request);
+            ExportFormat format = ExportFormat.of(request);
+            Serializable after = extractAfter(request);
+
+            RestInformation.ResultInformation export = information.getResultInfo(information.export());
+            Class<?> resultType = export.getResultType();
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            int batchSize = properties.getStreamFetchSize();
+
+            response.setContentType(format.getMediaType().toString());
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+                generator.setRootValueSeparator(null);
+                Consumer<Object> action = entity -> {
+                    try {
+                        format.writeStart(generator);
+                        writer.writeValue(generator, mapper.map(entity, resultType));
+                        format.writeEnd(generator);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+
+                try {
+                    if (information.hasCustomQuery(export)) {
+                        readService.forEachAfter((Class) export.getQueryType(), after, batchSize, action);
+                    } else {
+                        entityService.forEachAfter(after, batchSize, action);
+                    }
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+            return null;
+        }
+
+        private KeysetScrollPosition extractPosition(HttpServletRequest request) throws ServletRequestBindingException {
+            try {
+                return PageableResolver.getPosition(request);
+            } catch (IllegalArgumentException e) {
+                throw new ServletRequestBindingException(e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Retrieve a keyset window, positions that do not match the sort or property types are rejected.
+         */
+        private Window<?> findWindow(Listable<?> listable, KeysetScrollPosition position, Sort sort, int size) throws ServletRequestBindingException {
+            try {
+                return listable.findAll(position, sort, size);
+            } catch (IllegalArgumentException e) {
+                throw new ServletRequestBindingException("Invalid cursor: " + e.getMessage(), e);
+            }
+        }
+
+        private Serializable extractAfter(HttpServletRequest request) throws ServletRequestBindingException {
+            String after = request.getParameter(PageableResolver.AFTER_PARAMETER);
+            if (StringUtils.isEmpty(after)) {
+                return null;
+            }
+
+            Serializable id = identifierParser.parse(after, 0, after.length());
+            if (id == null) {
+                throw new ServletRequestBindingException("Invalid '" + PageableResolver.AFTER_PARAMETER + "' identifier: " + after);
+            }
+            return id;
+        }
+
         private void ensureIsReadable(String[] expressions, HttpServletRequest request) {
             if (!hasAnyNotBlank(expressions)) {
                 expressions = information.getReadSecured();
@@ -188,18 +353,49 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
          * Retrieve a single entity by identifier: /{id}
          * 
          * @param request the request
+         * @param response the response, written directly when responses are cached
          * @return the entity, in result type
          */
         @ResponseBody
-        public Object findOne(HttpServletRequest request) {
+        public Object findOne(HttpServletRequest request, HttpServletResponse response) throws IOException {
             ensureIsReadable(information.findOne().secured(), request);
-            return mapIdToResult(extractId(request));
+            Serializable id = extractId(request);
+            if (responseCache == null || !acceptsJson(request)) {
+                return mapIdToResult(id);
+            }
+
+            byte[] content = responseCache.get(id);
+            if (content == null) {
+                long generation = responseCache.getGeneration();
+                content = objectMapper.writeValueAsBytes(mapIdToResult(id));
+                responseCache.put(id, content, generation);
+            }
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(content.length);
+            response.getOutputStream().write(content);
+            return null;
+        }
+
+        private boolean acceptsJson(HttpServletRequest request) {
+            String accept = request.getHeader("Accept");
+            if (StringUtils.isBlank(accept)) {
+                return true;
+            }
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return true;
+                }
+            }
+            return false;
         }
         
         private Serializable extractId(HttpServletRequest request) {
-            String path = UrlUtils.getPath(request);
-            String raw = StringUtils.substringAfterLast(path, UrlUtils.SLASH);
-            return conversionService.convert(raw, information.getIdentifierClass().asSubclass(Serializable.class));
+            Serializable id = (Serializable) request.getAttribute(RouteTable.IDENTIFIER_ATTRIBUTE);
+            if (id == null) {
+                String path = UrlUtils.getPath(request);
+                id = identifierParser.parse(path, path.lastIndexOf(UrlUtils.SLASH) + 1, path.length());
+            }
+            return id;
         }
 
         private Object mapIdToResult(Serializable id) {
@@ -225,19 +421,14 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
         @ResponseBody
         public Object create(HttpServletRequest request) throws Exception {
             ensureIsModifiable(information.create().secured(), request);
-            String json = CharStreams.toString(request.getReader()).trim();
-            Class<?> inputType = information.getInputType(information.create());
-
-            if (json.startsWith(ARRAY_JSON_START)) {
-                List<Object> inputs = objectMapper.readValue(json, objectMapper.getTypeFactory().constructCollectionType(List.class, inputType));
-                List<Object> results = new ArrayList<>();
-                for (Object input : inputs) {
-                    results.add(doCreate(input));
+            ObjectReader reader = objectMapper.readerFor(information.getInputType(information.create()));
+
+            try (JsonParser parser = objectMapper.getFactory().createParser(request.getInputStream())) {
+                if (parser.nextToken() == JsonToken.START_ARRAY) {
+                    return inTransaction(() -> doCreateAll(parser, reader));
+                } else {
+                    return doCreate(reader.readValue(parser));
                 }
-                return results;
-            } else {
-                Object input = objectMapper.readValue(json, inputType);
-                return doCreate(input);
             }
         }
         
@@ -249,11 +440,58 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
         }
         
         private Object doCreate(Object input) throws BindException {
-            Persistable<?> entity = mapper.map(validate(input), information.getEntityClass());
-            Persistable<?> output = entityService.save(entity);
+            Persistable<?> output = entityService.save(toEntity(input));
             return mapToResult(output, information.create());
         }
 
+        private Persistable<?> toEntity(Object input) throws BindException {
+            return mapper.map(validate(input), information.getEntityClass());
+        }
+
+        /**
+         * Saves the entities per chunk while parsing, so only one chunk of entities
+         * is in memory at once. Only the mapped results are kept for the response.
+         */
+        private List<Object> doCreateAll(JsonParser parser, ObjectReader reader) throws Exception {
+            List<Object> results = new ArrayList<>();
+            List<Persistable<?>> chunk = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                chunk.add(toEntity(reader.readValue(parser)));
+                if (chunk.size() >= properties.getBulkChunkSize()) {
+                    results.addAll(mapToResults(entityService.saveAll(chunk), information.create()));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                results.addAll(mapToResults(entityService.saveAll(chunk), information.create()));
+            }
+            return results;
+        }
+
+        /**
+         * Perform the action in one transaction, when a transaction manager is available,
+         * so all chunks are committed or rolled back together.
+         */
+        private <R> R inTransaction(Callable<R> action) throws Exception {
+            if (transactionManager == null) {
+                return action.call();
+            }
+
+            try {
+                return new TransactionTemplate(transactionManager).execute(status -> {
+                    try {
+                        return action.call();
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new UndeclaredThrowableException(e);
+                    }
+                });
+            } catch (UndeclaredThrowableException e) {
+                throw (Exception) e.getCause();
+            }
+        }
+
         private Object validate(Object input) throws BindException {
             BeanPropertyBindingResult errors = new BeanPropertyBindingResult(input, "input");
             validator.validate(input, errors);
@@ -272,20 +510,23 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
         public Object update(HttpServletRequest request) throws Exception {
             ensureIsModifiable(information.update().secured(), request);
             Serializable id = extractId(request);
-            String json = CharStreams.toString(request.getReader());
-            Object input = objectMapper.readValue(json, information.getInputType(information.update()));
-            boolean patch = request.getMethod().equals(PATCH.name());
-            return doUpdate(id, json, validate(input), patch);
+            Class<?> inputType = information.getInputType(information.update());
+            if (request.getMethod().equals(PATCH.name())) {
+                Set<String> propertyNames = new HashSet<>();
+                try (JsonParser parser = objectMapper.getFactory().createParser(request.getInputStream())) {
+                    Object input = JsonUtil.readValue(parser, objectMapper.readerFor(inputType), propertyNames);
+                    return doUpdate(id, validate(input), inputType, propertyNames);
+                }
+            } else {
+                Object input = objectMapper.readValue(request.getInputStream(), inputType);
+                return doUpdate(id, validate(input), inputType, null);
+            }
         }
         
-        private Object doUpdate(Serializable id, String json, Object input, boolean patch) {
+        private Object doUpdate(Serializable id, Object input, Class<?> inputType, Set<String> propertyNames) {
             Persistable<?> entity = entityService.getOne(id);
-            if (patch) {
-                Set<String> propertyNames = JsonUtil.getPropertyNamesFromJson(json, objectMapper);
-                beanMapper.wrap()
-                        .downsizeSource(new ArrayList<>(propertyNames))
-                        .build()
-                        .map(input, entity);
+            if (propertyNames != null) {
+                patchMappers.getMapper(inputType, propertyNames).map(input, entity);
             } else {
                 beanMapper.map(input, entity);
             }
@@ -324,9 +565,80 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
             return mapper.map(result, resultInfo.getResultType());
         }
 
+        /**
+         * Convert the entities into our desired result type. Custom query types are retrieved
+         * in one query, and detached once mapped, so the persistence context does not grow
+         * with the number of created entities.
+         * 
+         * @param entities the entities
+         * @param config the configuration
+         * @return the entities in their result type, in the same order
+         */
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        private List<Object> mapToResults(List<Persistable<?>> entities, RestConfig config) {
+            RestInformation.ResultInformation resultInfo = information.getResultInfo(config);
+            Class<?> resultType = resultInfo.getResultType();
+
+            List<Object> results = new ArrayList<>(entities.size());
+            if (!information.hasCustomQuery(resultInfo) || information.getIdentifierClass().equals(resultType) || Void.class.equals(resultType)) {
+                for (Persistable<?> entity : entities) {
+                    results.add(mapper.map(entity, resultType));
+                }
+                return results;
+            }
+
+            List<Serializable> ids = new ArrayList<>(entities.size());
+            for (Persistable<?> entity : entities) {
+                ids.add((Serializable) entity.getId());
+            }
+
+            Map<Object, Persistable<?>> found = new HashMap<>();
+            for (Object result : readService.findAll((Class) resultInfo.getQueryType(), (Iterable) ids)) {
+                Persistable<?> persistable = (Persistable<?>) result;
+                found.put(persistable.getId(), persistable);
+            }
+
+            for (Serializable id : ids) {
+                results.add(mapper.map(found.get(id), resultType));
+            }
+            if (entityManager != null) {
+                found.values().forEach(entityManager::detach);
+            }
+            return results;
+        }
+
         private void init() {
             if (entityService == null) {
-                entityService = crudServiceRegistry.getService((Class) information.getEntityClass());
+                CrudService service = crudServiceRegistry.getService((Class) information.getEntityClass());
+                if (responseCache != null) {
+                    listenForInvalidations(service);
+                }
+                entityService = service;
+            }
+        }
+
+        /**
+         * Evict cached responses on the same writes that evict our entities. Responses are
+         * not cached when the service cannot notify us, as they would never be evicted.
+         */
+        private void listenForInvalidations(CrudService service) {
+            if (service instanceof CacheInvalidationSource) {
+                ((CacheInvalidationSource) service).addInvalidationListener(responseCache::evict);
+            } else {
+                LOGGER.warn("Disabled response cache of /{}, service {} does not publish invalidations",
+                    information.getBasePath(), service.getClass().getName());
+                responseCache = null;
+            }
+        }
+
+        /**
+         * Reads a single entity page, passing the service proxies, query and result mapping.
+         * This does not pass through the handler mapping, nor JSON serialization.
+         */
+        private void warmUp() {
+            init();
+            if (information.findAll().enabled()) {
+                buildListable().findAll(PageRequest.of(0, 1));
             }
         }
 
@@ -340,17 +652,38 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
      */
     private static class DefaultHandlerMapping extends ResourceHandlerMapping {
         
-        private static final String FIND_ALL_NAME = "findAll";
-        private static final String FIND_ONE_NAME = "findOne";
-        private static final String CREATE_NAME = "create";
-        private static final String UPDATE_NAME = "update";
-        private static final String DELETE_NAME = "delete";
-
         private final DefaultCrudController controller;
+
+        private final RouteTable routeTable;
+
+        /**
+         * Handler methods, resolved once per enabled operation.
+         */
+        private final Map<RestOperation, HandlerMethod> handlerMethods;
         
         public DefaultHandlerMapping(DefaultCrudController controller) {
-            super(controller.information);
+            super(controller.information, controller.identifierParser);
             this.controller = controller;
+            this.routeTable = RouteTable.compile(Collections.singletonList(this));
+            this.handlerMethods = buildHandlerMethods(controller);
+        }
+
+        private static Map<RestOperation, HandlerMethod> buildHandlerMethods(DefaultCrudController controller) {
+            Map<RestOperation, HandlerMethod> handlerMethods = new EnumMap<>(RestOperation.class);
+            for (RestOperation operation : RestOperation.values()) {
+                if (operation.getConfig(controller.information).enabled()) {
+                    handlerMethods.put(operation, buildHandlerMethod(controller, operation));
+                }
+            }
+            return handlerMethods;
+        }
+
+        private static HandlerMethod buildHandlerMethod(DefaultCrudController controller, RestOperation operation) {
+            Method method = BeanUtils.findMethodWithMinimalParameters(controller.getClass(), operation.getMethodName());
+            if (method == null) {
+                throw new IllegalStateException("Could not find handler method: " + operation.getMethodName());
+            }
+            return new HandlerMethod(controller, method);
         }
         
         /**
@@ -358,62 +691,44 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
          */
         @Override
         public Object getHandlerInternal(HttpServletRequest request) throws Exception {
-            controller.init(); // Lazy initialization
-
-            Object result = null;
-            Method method = findMethod(request);
-            if (method != null) {
-                result = new HandlerMethod(controller, method);
+            RouteTable.Route route = routeTable.lookup(request);
+            if (route != null && route.getOperation() != null) {
+                return getHandlerInternal(request, route.getOperation());
             }
-            return result;
+            return null;
         }
 
         /**
-         * Dynamically match our servlet request to one of the service
-         * methods. Whenever a request is recognized we return that method.
-         * 
-         * @param request the incomming request
-         * @return the matching method, if any
+         * {@inheritDoc}
          */
-        private Method findMethod(HttpServletRequest request) throws NoSuchMethodException {
-            if (getInformation().isReadOnly() && !hasRequestMethod(request, GET)) {
-                return null;
-            }
+        @Override
+        public Object getHandlerInternal(HttpServletRequest request, RestOperation operation) throws Exception {
+            controller.init(); // Lazy initialization
+            return handlerMethods.get(operation);
+        }
 
-            Method method = null;
-            String path = StringUtils.stripEnd(UrlUtils.getPath(request), "/");
-            String[] fragments = path.split(UrlUtils.SLASH);
-            if (fragments.length == 1) {
-                if (hasRequestMethod(request, GET)) {
-                    method = toMethodIfEnabled(FIND_ALL_NAME, getInformation().findAll());
-                } else if (hasRequestMethod(request, POST)) {
-                    method = toMethodIfEnabled(CREATE_NAME, getInformation().create());
-                }
-            } else if (fragments.length == 2) {
-                String id = fragments[1];
-                if (StringUtils.isNumeric(id)) {
-                    if (hasRequestMethod(request, GET)) {
-                        method = toMethodIfEnabled(FIND_ONE_NAME, getInformation().findOne());
-                    } else if (hasRequestMethod(request, PUT) || (hasRequestMethod(request, PATCH) && getInformation().isPatch())) {
-                        method = toMethodIfEnabled(UPDATE_NAME, getInformation().update());
-                    } else if (hasRequestMethod(request, DELETE)) {
-                        method = toMethodIfEnabled(DELETE_NAME, getInformation().delete());
-                    }
-                }
-            }
-            return method;
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void initialize() {
+            controller.init();
         }
 
-        private boolean hasRequestMethod(HttpServletRequest request, RequestMethod method) {
-            return method.name().equals(request.getMethod());
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isInitialized() {
+            return controller.entityService != null;
         }
 
-        private Method toMethodIfEnabled(String methodName, RestConfig config) throws NoSuchMethodException {
-            Method method = null;
-            if (config.enabled()) {
-                method = controller.getClass().getMethod(methodName, HttpServletRequest.class);
-            }
-            return method;
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void warmUp() {
+            controller.warmUp();
         }
 
         /**
@@ -425,6 +740,7 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
             
             logIf(controller.information.findAll(), logger, "Mapped \"[/{}],methods=[GET],params=[]\"", basePath);
             logIf(controller.information.findOne(), logger, "Mapped \"[/{}/{id}],methods=[GET],params=[]\"", basePath);
+            logIf(controller.information.export(), logger, "Mapped \"[/{}],methods=[GET],produces=[application/x-ndjson || application/json-seq]\"", basePath);
             
             if (!controller.information.isReadOnly()) {
                 logIf(controller.information.create(), logger, "Mapped \"[/{}],methods=[POST],params=[]\"", basePath);
@@ -441,6 +757,15 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
 
     }
 
+    /**
+     * Retrieve the cache of patch mappers, exposing its hit and miss statistics.
+     *
+     * @return the patch mapper cache
+     */
+    public PatchMapperCache getPatchMapperCache() {
+        return patchMappers;
+    }
+
     @Autowired
     public void setReadService(ReadService readService) {
         this.readService = readService;
@@ -451,4 +776,14 @@ public class DefaultHandlerMappingFactory implements ResourceHandlerMappingFacto
         this.crudServiceRegistry = crudServiceRegistry;
     }
 
+    @Autowired(required = false)
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    @PersistenceContext
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
 }
@@ -0,0 +1,98 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming formats of an export, negotiated on the {@code Accept} header.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+enum ExportFormat {
+
+    /**
+     * Newline delimited JSON, each entity on a single line.
+     */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), null),
+
+    /**
+     * JSON text sequences (RFC 7464), each entity preceded by a record separator.
+     */
+    JSON_SEQ(MediaType.parseMediaType("application/json-seq"), '\u001E');
+
+    private final MediaType mediaType;
+
+    private final Character prefix;
+
+    ExportFormat(MediaType mediaType, Character prefix) {
+        this.mediaType = mediaType;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Resolve the export format accepted by a request. Wildcards are ignored,
+     * as regular clients should receive a regular JSON array.
+     *
+     * @param request the request
+     * @return the format, or {@code null} when no export is requested
+     */
+    static ExportFormat of(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        if (StringUtils.isBlank(accept)) {
+            return null;
+        }
+
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null; // Leave it to the regular content negotiation
+        }
+
+        for (MediaType mediaType : mediaTypes) {
+            for (ExportFormat format : values()) {
+                if (format.mediaType.equalsTypeAndSubtype(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Write the delimiter before a record.
+     *
+     * @param generator the generator
+     * @throws IOException whenever the delimiter could not be written
+     */
+    void writeStart(JsonGenerator generator) throws IOException {
+        if (prefix != null) {
+            generator.writeRaw(prefix);
+        }
+    }
+
+    /**
+     * Write the delimiter after a record.
+     *
+     * @param generator the generator
+     * @throws IOException whenever the delimiter could not be written
+     */
+    void writeEnd(JsonGenerator generator) throws IOException {
+        generator.writeRaw('\n');
+    }
+
+}
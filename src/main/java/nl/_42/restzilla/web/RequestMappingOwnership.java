@@ -0,0 +1,74 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web;
+
+import nl._42.restzilla.web.util.UrlUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * Determines which REST routes overlap with {@code @RequestMapping} controllers.
+ * Only overlapping routes have to consult the default handler mapping first,
+ * all other routes are owned by our REST resources.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+final class RequestMappingOwnership implements BiPredicate<String, RequestMethod> {
+
+    private static final String WILDCARD = "*";
+
+    /**
+     * Declared request methods per upper cased base path.
+     */
+    private final Map<String, Set<RequestMethod>> methods = new HashMap<>();
+
+    RequestMappingOwnership(Collection<RequestMappingInfo> mappings) {
+        for (RequestMappingInfo mapping : mappings) {
+            Set<RequestMethod> declared = mapping.getMethodsCondition().getMethods();
+            for (String pattern : mapping.getPatternValues()) {
+                register(getBasePath(pattern), declared);
+            }
+        }
+    }
+
+    private static String getBasePath(String pattern) {
+        String basePath = StringUtils.substringBefore(UrlUtils.stripSlashes(pattern), UrlUtils.SLASH);
+        if (StringUtils.containsAny(basePath, '{', '*', '?')) {
+            return WILDCARD;
+        }
+        return basePath.toUpperCase();
+    }
+
+    private void register(String basePath, Set<RequestMethod> declared) {
+        Set<RequestMethod> registered = methods.computeIfAbsent(basePath, key -> EnumSet.noneOf(RequestMethod.class));
+        registered.addAll(declared.isEmpty() ? EnumSet.allOf(RequestMethod.class) : declared);
+    }
+
+    /**
+     * Determine if a route is shared with the default handler mapping.
+     *
+     * @param basePath the base path of our route
+     * @param method the request method of our route
+     * @return {@code true} when shared, else {@code false}
+     */
+    @Override
+    public boolean test(String basePath, RequestMethod method) {
+        return isDeclared(basePath.toUpperCase(), method) || isDeclared(WILDCARD, method);
+    }
+
+    private boolean isDeclared(String basePath, RequestMethod method) {
+        Set<RequestMethod> declared = methods.get(basePath);
+        return declared != null && declared.contains(method);
+    }
+
+}
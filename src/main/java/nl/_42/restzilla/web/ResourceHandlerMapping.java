@@ -2,7 +2,10 @@ package nl._42.restzilla.web;
 
 import jakarta.servlet.http.HttpServletRequest;
 
+import nl._42.restzilla.web.identifier.IdentifierParser;
+import nl._42.restzilla.web.identifier.IdentifierParsers;
 import org.slf4j.Logger;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.web.servlet.handler.AbstractHandlerMapping;
 
 /**
@@ -17,13 +20,28 @@ public abstract class ResourceHandlerMapping extends AbstractHandlerMapping {
      * The REST information.
      */
     private final RestInformation information;
+
+    /**
+     * Parses the identifiers in our request path.
+     */
+    private final IdentifierParser<?> identifierParser;
     
     /**
      * Construct a new entity handler mapping.
      * @param information the REST information
      */
     public ResourceHandlerMapping(RestInformation information) {
+        this(information, IdentifierParsers.of(information, DefaultConversionService.getSharedInstance()));
+    }
+
+    /**
+     * Construct a new entity handler mapping.
+     * @param information the REST information
+     * @param identifierParser the identifier parser
+     */
+    public ResourceHandlerMapping(RestInformation information, IdentifierParser<?> identifierParser) {
         this.information = information;
+        this.identifierParser = identifierParser;
     }
 
     /**
@@ -32,6 +50,40 @@ public abstract class ResourceHandlerMapping extends AbstractHandlerMapping {
     @Override
     public abstract Object getHandlerInternal(HttpServletRequest request) throws Exception;
 
+    /**
+     * Retrieve the handler of an operation, as resolved by our route table.
+     * By default we fall back to {@link #getHandlerInternal(HttpServletRequest)}.
+     *
+     * @param request the request
+     * @param operation the resolved operation
+     * @return the handler, if any
+     * @throws Exception whenever the handler could not be resolved
+     */
+    public Object getHandlerInternal(HttpServletRequest request, RestOperation operation) throws Exception {
+        return getHandlerInternal(request);
+    }
+
+    /**
+     * Resolve all underlying beans, invoked on startup when eager initialization is enabled.
+     */
+    public void initialize() {
+    }
+
+    /**
+     * Determine if all underlying beans are resolved.
+     * 
+     * @return the initialized, by default {@code true}
+     */
+    public boolean isInitialized() {
+        return true;
+    }
+
+    /**
+     * Perform a warm-up read through the underlying beans, priming them and the JIT compiler.
+     */
+    public void warmUp() {
+    }
+
     /**
      * Describe the generated REST mappings.
      * @param logger the logger to output our description
@@ -48,4 +100,12 @@ public abstract class ResourceHandlerMapping extends AbstractHandlerMapping {
         return information;
     }
 
+    /**
+     * Retrieve the parser of identifiers in our request path.
+     * @return the identifier parser
+     */
+    public IdentifierParser<?> getIdentifierParser() {
+        return identifierParser;
+    }
+
 }
\ No newline at end of file
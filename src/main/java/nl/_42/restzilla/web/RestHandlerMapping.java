@@ -2,27 +2,33 @@ package nl._42.restzilla.web;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
+import nl._42.restzilla.RestProperties;
 import nl._42.restzilla.web.util.UrlUtils;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiPredicate;
 
 import jakarta.servlet.http.HttpServletRequest;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.PriorityOrdered;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.UnsatisfiedServletRequestParameterException;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.handler.AbstractHandlerMapping;
 import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
 
 /**
  * Root handler mapping for managing CRUD requests.
@@ -30,7 +36,7 @@ import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
  * @author Jeroen van Schagen
  * @since Aug 21, 2015
  */
-public class RestHandlerMapping extends AbstractHandlerMapping implements PriorityOrdered {
+public class RestHandlerMapping extends AbstractHandlerMapping implements PriorityOrdered, ApplicationListener<ContextRefreshedEvent> {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(RestHandlerMapping.class);
 
@@ -38,6 +44,21 @@ public class RestHandlerMapping extends AbstractHandlerMapping implements Priori
      * Handlers mapped per entity type.
      */
     private final Map<String, ResourceHandlerMapping> handlerMappings = new HashMap<String, ResourceHandlerMapping>();
+
+    /**
+     * Route table, compiled from our handler mappings.
+     */
+    private volatile RouteTable routeTable = RouteTable.compile(Collections.emptyList());
+
+    /**
+     * Determines which routes are shared with the default handler mapping.
+     */
+    private BiPredicate<String, RequestMethod> shared = (basePath, method) -> true;
+
+    /**
+     * Determines if each request goes straight to its owning handler mapping.
+     */
+    private boolean ownershipResolved;
     
     /**
      * Exceptions that should be skipped.
@@ -52,13 +73,14 @@ public class RestHandlerMapping extends AbstractHandlerMapping implements Priori
     /**
      * Determines if this bean is fully initialized yet.
      */
-    private final AtomicBoolean initialized = new AtomicBoolean(false);
+    private volatile boolean initialized;
 
     /**
      * The application context.
      */
     private final ApplicationContext applicationContext;
     private final String defaultHandlerMappingName;
+    private final RestProperties properties;
 
     {
         this.skippedExceptions.add(HttpRequestMethodNotSupportedException.class);
@@ -72,8 +94,20 @@ public class RestHandlerMapping extends AbstractHandlerMapping implements Priori
      * @param defaultHandlerMappingName the default handler mapping bean name
      */
     public RestHandlerMapping(ApplicationContext applicationContext, String defaultHandlerMappingName) {
+        this(applicationContext, defaultHandlerMappingName, new RestProperties());
+    }
+
+    /**
+     * Create a new handler mapping.
+     * 
+     * @param applicationContext the application context
+     * @param defaultHandlerMappingName the default handler mapping bean name
+     * @param properties the REST properties
+     */
+    public RestHandlerMapping(ApplicationContext applicationContext, String defaultHandlerMappingName, RestProperties properties) {
         this.applicationContext = applicationContext;
         this.defaultHandlerMappingName = defaultHandlerMappingName;
+        this.properties = properties;
     }
 
     /**
@@ -81,10 +115,14 @@ public class RestHandlerMapping extends AbstractHandlerMapping implements Priori
      */
     @Override
     protected Object getHandlerInternal(HttpServletRequest request) throws Exception {
-        if (!initialized.getAndSet(true)) {
+        if (!initialized) {
             init();
         }
 
+        if (ownershipResolved) {
+            return findOwnedHandler(request);
+        }
+
         Object requestMappingHandler = findRequestMappingHandler(request);
         if (requestMappingHandler != null) {
             return requestMappingHandler;
@@ -92,13 +130,47 @@ public class RestHandlerMapping extends AbstractHandlerMapping implements Priori
         return findDelegateHandler(request); // When no custom mapping exists
     }
 
-    private void init() {
+    private synchronized void init() {
+        if (initialized) {
+            return;
+        }
+
         if (isNotBlank(defaultHandlerMappingName)) {
             defaultHandlerMapping = applicationContext.getBean(defaultHandlerMappingName, HandlerMapping.class);
         } else {
             LOGGER.warn("No default handler mapping defined in @EnableRest");
             defaultHandlerMapping = new SimpleUrlHandlerMapping();
         }
+
+        if (properties.isOwnershipMap()) {
+            resolveOwnership();
+        }
+        initialized = true;
+    }
+
+    private void resolveOwnership() {
+        if (defaultHandlerMapping instanceof RequestMappingInfoHandlerMapping requestMappingHandlerMapping) {
+            shared = new RequestMappingOwnership(requestMappingHandlerMapping.getHandlerMethods().keySet());
+            routeTable = RouteTable.compile(handlerMappings.values(), shared);
+            ownershipResolved = true;
+        } else {
+            LOGGER.warn("Could not resolve request ownership, default handler mapping does not expose its request mappings");
+        }
+    }
+
+    private Object findOwnedHandler(HttpServletRequest request) throws Exception {
+        RouteTable.Route route = routeTable.lookup(request);
+        if (route == null) {
+            return null; // Not a REST resource, leave it to the other handler mappings
+        }
+
+        if (route.isShared()) {
+            Object requestMappingHandler = findRequestMappingHandler(request);
+            if (requestMappingHandler != null) {
+                return requestMappingHandler;
+            }
+        }
+        return route.getHandler(request);
     }
 
     private Object findRequestMappingHandler(HttpServletRequest request) throws Exception {
@@ -119,14 +191,62 @@ public class RestHandlerMapping extends AbstractHandlerMapping implements Priori
     }
     
     private Object findDelegateHandler(HttpServletRequest request) throws Exception {
-        String basePath = UrlUtils.getBasePath(request);
-        ResourceHandlerMapping delegateHandler = handlerMappings.get(basePath.toUpperCase());
-        if (delegateHandler != null) {
-            return delegateHandler.getHandlerInternal(request);
+        RouteTable.Route route = routeTable.lookup(request);
+        if (route != null) {
+            return route.getHandler(request);
         }
         return null;
     }
 
+    /**
+     * Eagerly initialize all handler mappings once the application context is refreshed,
+     * so the first requests after a deploy do not pay for creating services and proxies.
+     *
+     * @param event the refreshed event
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        if (!properties.isEagerInit() || event.getApplicationContext() != applicationContext) {
+            return;
+        }
+
+        init();
+        for (ResourceHandlerMapping handlerMapping : handlerMappings.values()) {
+            handlerMapping.initialize();
+        }
+        warmUp(properties.getWarmUpRequests());
+    }
+
+    private void warmUp(int reads) {
+        for (ResourceHandlerMapping handlerMapping : handlerMappings.values()) {
+            try {
+                for (int index = 0; index < reads; index++) {
+                    handlerMapping.warmUp();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not warm up REST resource /{}", handlerMapping.getInformation().getBasePath(), e);
+            }
+        }
+    }
+
+    /**
+     * Determine if the default handler mapping is resolved, either eagerly or on the first request.
+     * 
+     * @return the initialized
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Determine if the ownership map is resolved, routing each request straight to its owner.
+     * 
+     * @return the ownership resolved
+     */
+    public boolean isOwnershipResolved() {
+        return ownershipResolved;
+    }
+
     /**
      * Register a custom handler mapping.
      * 
@@ -141,6 +261,7 @@ public class RestHandlerMapping extends AbstractHandlerMapping implements Priori
             LOGGER.warn("Duplicated REST resource /{}", basePath);
         } else {
             handlerMappings.put(basePath.toUpperCase(), handlerMapping);
+            routeTable = RouteTable.compile(handlerMappings.values(), shared);
             handlerMapping.describe(LOGGER);
         }
     }
@@ -5,9 +5,11 @@ package nl._42.restzilla.web;
 
 import com.google.common.base.CaseFormat;
 import com.google.common.base.Preconditions;
+import nl._42.restzilla.RestCache;
 import nl._42.restzilla.RestConfig;
 import nl._42.restzilla.RestResource;
 import nl._42.restzilla.RestSecured;
+import nl._42.restzilla.web.identifier.IdentifierParser;
 import nl._42.restzilla.web.util.UrlUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -104,6 +106,33 @@ public class RestInformation {
         return annotation.pagedOnly();
     }
     
+    /**
+     * Retrieve if pages are retrieved without counting.
+     * 
+     * @return the sliced
+     */
+    public boolean isSliced() {
+        return annotation.sliced();
+    }
+    
+    /**
+     * Retrieve if unpaged results are streamed.
+     * 
+     * @return the streaming
+     */
+    public boolean isStreaming() {
+        return annotation.streaming();
+    }
+    
+    /**
+     * Retrieve the cache configuration.
+     * 
+     * @return the cache configuration
+     */
+    public RestCache getCache() {
+        return annotation.cache();
+    }
+    
     /**
      * Retrieve if patch.
      * 
@@ -135,6 +164,16 @@ public class RestInformation {
         return identifierClass;
     }
 
+    /**
+     * Retrieve the custom identifier parser class.
+     * 
+     * @return the identifier parser class, or {@code null} when undefined
+     */
+    public Class<? extends IdentifierParser> getIdentifierParserClass() {
+        Class<? extends IdentifierParser> parserClass = annotation.identifierParser();
+        return IdentifierParser.class.equals(parserClass) ? null : parserClass;
+    }
+
     /**
      * Determine the input type.
      * 
@@ -301,6 +340,15 @@ public class RestInformation {
         return annotation.delete();
     }
     
+    /**
+     * Retrieve the {@code export} configuration.
+     * 
+     * @return the configuration
+     */
+    public RestConfig export() {
+        return annotation.export();
+    }
+    
     /**
      * Information about the REST result.
      *
@@ -0,0 +1,61 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web;
+
+import nl._42.restzilla.RestConfig;
+
+/**
+ * Operations that can be performed on a REST resource.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public enum RestOperation {
+
+    FIND_ALL("findAll"),
+    FIND_ONE("findOne"),
+    CREATE("create"),
+    UPDATE("update"),
+    DELETE("delete"),
+    EXPORT("export");
+
+    private final String methodName;
+
+    RestOperation(String methodName) {
+        this.methodName = methodName;
+    }
+
+    /**
+     * Retrieve the name of the handler method.
+     *
+     * @return the method name
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Retrieve the configuration of this operation.
+     *
+     * @param information the REST information
+     * @return the configuration
+     */
+    public RestConfig getConfig(RestInformation information) {
+        switch (this) {
+            case FIND_ALL:
+                return information.findAll();
+            case FIND_ONE:
+                return information.findOne();
+            case CREATE:
+                return information.create();
+            case UPDATE:
+                return information.update();
+            case EXPORT:
+                return information.export();
+            default:
+                return information.delete();
+        }
+    }
+
+}
@@ -0,0 +1,365 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import nl._42.restzilla.RestConfig;
+import nl._42.restzilla.web.identifier.IdentifierParser;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.BiPredicate;
+
+/**
+ * Immutable route table, compiled once during startup. Base paths are stored
+ * in a case-insensitive prefix trie, which allows us to resolve a request to
+ * its operation in a single pass over the URI, without allocating any objects.
+ * Exports have a route of their own on the collection, matched on the
+ * {@code Accept} header of the request. Requests under a base path that match
+ * no operation, such as sub-paths, fall back on the resource handler mapping.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+final class RouteTable {
+
+    /**
+     * Request attribute holding the parsed identifier of an item route.
+     */
+    static final String IDENTIFIER_ATTRIBUTE = RouteTable.class.getName() + ".IDENTIFIER";
+
+    private static final char SLASH = '/';
+
+    private static final int COLLECTION = 0;
+    private static final int ITEM = 1;
+
+    private static final int GET = 0;
+    private static final int POST = 1;
+    private static final int PUT = 2;
+    private static final int PATCH = 3;
+    private static final int DELETE = 4;
+    private static final RequestMethod[] METHODS = {
+        RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.PATCH, RequestMethod.DELETE
+    };
+
+    private static final Node EMPTY = new Node(new char[0], new Node[0], null, null, null, null);
+
+    private final Node root;
+
+    private RouteTable(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Compile a new route table, where each route is considered shared.
+     *
+     * @param mappings the resource handler mappings
+     * @return the route table
+     */
+    static RouteTable compile(Collection<? extends ResourceHandlerMapping> mappings) {
+        return compile(mappings, (basePath, method) -> true);
+    }
+
+    /**
+     * Compile a new route table.
+     *
+     * @param mappings the resource handler mappings
+     * @param shared determines if a route is shared with other handler mappings
+     * @return the route table
+     */
+    static RouteTable compile(Collection<? extends ResourceHandlerMapping> mappings, BiPredicate<String, RequestMethod> shared) {
+        Builder root = new Builder();
+        for (ResourceHandlerMapping mapping : mappings) {
+            Builder current = root;
+            String basePath = mapping.getInformation().getBasePath();
+            for (int index = 0; index < basePath.length(); index++) {
+                current = current.child(Character.toUpperCase(basePath.charAt(index)));
+            }
+            current.routes = compileRoutes(mapping, shared);
+            current.export = toRouteIfEnabled(mapping, RestOperation.EXPORT, RequestMethod.GET, shared);
+            current.fallback = new Route(mapping, null, true);
+            current.parser = mapping.getIdentifierParser();
+        }
+        return new RouteTable(root.build());
+    }
+
+    private static Route[][] compileRoutes(ResourceHandlerMapping mapping, BiPredicate<String, RequestMethod> shared) {
+        RestInformation information = mapping.getInformation();
+
+        RestOperation[][] operations = new RestOperation[2][METHODS.length];
+        operations[COLLECTION][GET] = RestOperation.FIND_ALL;
+        operations[ITEM][GET] = RestOperation.FIND_ONE;
+
+        if (!information.isReadOnly()) {
+            operations[COLLECTION][POST] = RestOperation.CREATE;
+            operations[ITEM][PUT] = RestOperation.UPDATE;
+            if (information.isPatch()) {
+                operations[ITEM][PATCH] = RestOperation.UPDATE;
+            }
+            operations[ITEM][DELETE] = RestOperation.DELETE;
+        }
+
+        Route[][] routes = new Route[2][METHODS.length];
+        for (int shape = 0; shape < routes.length; shape++) {
+            for (int method = 0; method < METHODS.length; method++) {
+                routes[shape][method] = toRouteIfEnabled(mapping, operations[shape][method], METHODS[method], shared);
+            }
+        }
+        return routes;
+    }
+
+    private static Route toRouteIfEnabled(ResourceHandlerMapping mapping, RestOperation operation, RequestMethod method, BiPredicate<String, RequestMethod> shared) {
+        if (operation == null) {
+            return null;
+        }
+
+        RestInformation information = mapping.getInformation();
+        RestConfig config = operation.getConfig(information);
+        return config.enabled() ? new Route(mapping, operation, shared.test(information.getBasePath(), method)) : null;
+    }
+
+    /**
+     * Resolve the route of a request.
+     *
+     * @param request the request
+     * @return the route, or {@code null} when no resource matches
+     */
+    Route lookup(HttpServletRequest request) {
+        return lookup(request.getRequestURI(), request.getContextPath().length(), request.getMethod(), request);
+    }
+
+    /**
+     * Resolve the route of a request URI.
+     *
+     * @param uri the request URI
+     * @param offset the offset of our path, skipping the context path
+     * @param method the HTTP method
+     * @return the route, or {@code null} when no resource matches
+     */
+    Route lookup(String uri, int offset, String method) {
+        return lookup(uri, offset, method, null);
+    }
+
+    private Route lookup(String uri, int offset, String method, HttpServletRequest request) {
+        final int length = uri.length();
+        int index = offset;
+        if (index < length && uri.charAt(index) == SLASH) {
+            index++;
+        }
+
+        Node node = root;
+        while (index < length && uri.charAt(index) != SLASH) {
+            node = node.child(uri.charAt(index++));
+            if (node == null) {
+                return null;
+            }
+        }
+
+        if (node.routes == null) {
+            return null;
+        }
+
+        int methodIndex = indexOf(method);
+        if (methodIndex < 0) {
+            return node.fallback;
+        }
+
+        final int idStart = ++index;
+        while (index < length && uri.charAt(index) != SLASH) {
+            index++;
+        }
+
+        final int idEnd = index;
+        while (index < length) {
+            if (uri.charAt(index++) != SLASH) {
+                return node.fallback; // Sub-path
+            }
+        }
+
+        if (idEnd <= idStart) {
+            if (methodIndex == GET && node.export != null && request != null && ExportFormat.of(request) != null) {
+                return node.export;
+            }
+            Route route = node.routes[COLLECTION][methodIndex];
+            return route != null ? route : node.fallback;
+        }
+
+        Route route = node.routes[ITEM][methodIndex];
+        if (route == null) {
+            return node.fallback;
+        }
+
+        Serializable id = node.parser.parse(uri, idStart, idEnd);
+        if (id == null) {
+            return node.fallback;
+        }
+        if (request != null) {
+            request.setAttribute(IDENTIFIER_ATTRIBUTE, id);
+        }
+        return route;
+    }
+
+    private static int indexOf(String method) {
+        if (method == null) {
+            return -1;
+        }
+
+        switch (method) {
+            case "GET":
+                return GET;
+            case "POST":
+                return POST;
+            case "PUT":
+                return PUT;
+            case "PATCH":
+                return PATCH;
+            case "DELETE":
+                return DELETE;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Resolved route, consisting of the resource and operation.
+     */
+    static final class Route {
+
+        private final ResourceHandlerMapping mapping;
+
+        private final RestOperation operation;
+
+        private final boolean shared;
+
+        private Route(ResourceHandlerMapping mapping, RestOperation operation, boolean shared) {
+            this.mapping = mapping;
+            this.operation = operation;
+            this.shared = shared;
+        }
+
+        ResourceHandlerMapping getMapping() {
+            return mapping;
+        }
+
+        /**
+         * Retrieve the resolved operation.
+         *
+         * @return the operation, or {@code null} when falling back on the handler mapping
+         */
+        RestOperation getOperation() {
+            return operation;
+        }
+
+        /**
+         * Retrieve the handler of this route from its handler mapping.
+         *
+         * @param request the request
+         * @return the handler, if any
+         * @throws Exception whenever the handler could not be resolved
+         */
+        Object getHandler(HttpServletRequest request) throws Exception {
+            if (operation == null) {
+                return mapping.getHandlerInternal(request);
+            }
+            return mapping.getHandlerInternal(request, operation);
+        }
+
+        /**
+         * Determine if this route could also be handled by another handler mapping.
+         *
+         * @return {@code true} when shared, else {@code false}
+         */
+        boolean isShared() {
+            return shared;
+        }
+
+    }
+
+    /**
+     * Immutable trie node, keys are stored in upper case.
+     */
+    private static final class Node {
+
+        private final char[] keys;
+
+        private final Node[] children;
+
+        private final Route[][] routes;
+
+        private final Route export;
+
+        private final Route fallback;
+
+        private final IdentifierParser<?> parser;
+
+        private Node(char[] keys, Node[] children, Route[][] routes, Route export, Route fallback, IdentifierParser<?> parser) {
+            this.keys = keys;
+            this.children = children;
+            this.routes = routes;
+            this.export = export;
+            this.fallback = fallback;
+            this.parser = parser;
+        }
+
+        private Node child(char key) {
+            char upper = Character.toUpperCase(key);
+            for (int index = 0; index < keys.length; index++) {
+                if (keys[index] == upper) {
+                    return children[index];
+                }
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * Mutable trie node, only used during compilation.
+     */
+    private static final class Builder {
+
+        private char[] keys = new char[0];
+
+        private Builder[] children = new Builder[0];
+
+        private Route[][] routes;
+
+        private Route export;
+
+        private Route fallback;
+
+        private IdentifierParser<?> parser;
+
+        private Builder child(char key) {
+            for (int index = 0; index < keys.length; index++) {
+                if (keys[index] == key) {
+                    return children[index];
+                }
+            }
+
+            Builder child = new Builder();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            keys[keys.length - 1] = key;
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+            return child;
+        }
+
+        private Node build() {
+            if (keys.length == 0 && routes == null) {
+                return EMPTY;
+            }
+
+            Node[] nodes = new Node[children.length];
+            for (int index = 0; index < children.length; index++) {
+                nodes[index] = children[index].build();
+            }
+            return new Node(keys.clone(), nodes, routes, export, fallback, parser);
+        }
+
+    }
+
+}
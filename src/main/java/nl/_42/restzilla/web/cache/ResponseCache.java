@@ -0,0 +1,123 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import nl._42.restzilla.RestCache;
+import nl._42.restzilla.service.cache.CacheInvalidation;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of encoded responses, per identifier. Each cache belongs to one
+ * resource, result type and content type, so cached responses can be written
+ * as is, without mapping or serializing the entity again.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public class ResponseCache {
+
+    private final Cache<Object, byte[]> responses;
+
+    /**
+     * Incremented on each eviction, preventing responses that were encoded
+     * before the eviction from being cached afterwards.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Construct a new response cache.
+     *
+     * @param maximumSize the maximum number of cached responses
+     * @param timeToLive the duration a response remains cached, or {@code null} when unlimited
+     */
+    public ResponseCache(long maximumSize, Duration timeToLive) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats();
+        if (timeToLive != null) {
+            builder.expireAfterWrite(timeToLive);
+        }
+        this.responses = builder.build();
+    }
+
+    /**
+     * Construct a new response cache, as configured on {@code @RestResource}.
+     *
+     * @param config the cache configuration
+     */
+    public ResponseCache(RestCache config) {
+        this(config.maximumSize(), config.timeToLive() >= 0 ? Duration.ofSeconds(config.timeToLive()) : null);
+    }
+
+    /**
+     * Retrieve the cached response.
+     *
+     * @param id the identifier
+     * @return the encoded response, or {@code null} when not cached
+     */
+    public byte[] get(Object id) {
+        return responses.getIfPresent(id);
+    }
+
+    /**
+     * Retrieve the current generation, should be invoked before the response is loaded.
+     *
+     * @return the generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a response, unless an eviction occurred since it was loaded.
+     *
+     * @param id the identifier
+     * @param response the encoded response
+     * @param loadedGeneration the generation from before the response was loaded
+     */
+    public void put(Object id, byte[] response, long loadedGeneration) {
+        if (generation.get() == loadedGeneration) {
+            responses.put(id, response);
+            if (generation.get() != loadedGeneration) {
+                responses.invalidate(id);
+            }
+        }
+    }
+
+    /**
+     * Evict the responses of invalidated entities.
+     *
+     * @param invalidation the invalidation
+     */
+    public void evict(CacheInvalidation invalidation) {
+        generation.incrementAndGet();
+        if (invalidation.isAll()) {
+            responses.invalidateAll();
+        } else {
+            responses.invalidateAll(invalidation.getIds());
+        }
+    }
+
+    /**
+     * Retrieve the hit and miss statistics.
+     *
+     * @return the statistics
+     */
+    public CacheStats getStats() {
+        return responses.stats();
+    }
+
+    /**
+     * Retrieve the number of cached responses.
+     *
+     * @return the size
+     */
+    public long size() {
+        return responses.size();
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web.identifier;
+
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+
+import java.io.Serializable;
+
+/**
+ * Fallback parser that delegates to the {@link ConversionService}.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public class ConversionServiceIdentifierParser<ID extends Serializable> implements IdentifierParser<ID> {
+
+    private final ConversionService conversionService;
+
+    private final Class<ID> identifierClass;
+
+    public ConversionServiceIdentifierParser(ConversionService conversionService, Class<ID> identifierClass) {
+        this.conversionService = conversionService;
+        this.identifierClass = identifierClass;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ID parse(CharSequence path, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+
+        try {
+            return conversionService.convert(path.subSequence(start, end).toString(), identifierClass);
+        } catch (ConversionException e) {
+            return null;
+        }
+    }
+
+}
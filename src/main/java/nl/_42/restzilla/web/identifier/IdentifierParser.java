@@ -0,0 +1,29 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web.identifier;
+
+import java.io.Serializable;
+
+/**
+ * Parses the identifier of an entity from our request path. Parsers are
+ * selected once per resource and invoked while routing the request.
+ * Implementations should be thread safe and have a public no-arg
+ * constructor, allowing them to be configured on {@code @RestResource}.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public interface IdentifierParser<ID extends Serializable> {
+
+    /**
+     * Parse the identifier from a fragment of our request path.
+     *
+     * @param path the request path
+     * @param start the start index of our identifier, inclusive
+     * @param end the end index of our identifier, exclusive
+     * @return the identifier, or {@code null} when the fragment is not a valid identifier
+     */
+    ID parse(CharSequence path, int start, int end);
+
+}
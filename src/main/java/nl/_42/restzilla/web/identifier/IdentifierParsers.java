@@ -0,0 +1,60 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web.identifier;
+
+import nl._42.restzilla.web.RestInformation;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionService;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Selects the identifier parser of a resource.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public final class IdentifierParsers {
+
+    private IdentifierParsers() {
+    }
+
+    /**
+     * Retrieve the identifier parser of a resource. Custom parsers configured
+     * on {@code @RestResource} take precedence, otherwise we select a parser
+     * based on the identifier type.
+     *
+     * @param information the REST information
+     * @param conversionService the conversion service, used as fallback
+     * @return the identifier parser
+     */
+    public static IdentifierParser<?> of(RestInformation information, ConversionService conversionService) {
+        Class<? extends IdentifierParser> parserClass = information.getIdentifierParserClass();
+        if (parserClass != null) {
+            return BeanUtils.instantiateClass(parserClass);
+        }
+        return forType(information.getIdentifierClass(), conversionService);
+    }
+
+    /**
+     * Retrieve the identifier parser of a type.
+     *
+     * @param identifierClass the identifier type
+     * @param conversionService the conversion service, used as fallback
+     * @return the identifier parser
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public static IdentifierParser<?> forType(Class<?> identifierClass, ConversionService conversionService) {
+        if (Long.class.equals(identifierClass) || long.class.equals(identifierClass)) {
+            return new LongIdentifierParser();
+        } else if (Integer.class.equals(identifierClass) || int.class.equals(identifierClass)) {
+            return new IntegerIdentifierParser();
+        } else if (UUID.class.equals(identifierClass)) {
+            return new UuidIdentifierParser();
+        }
+        return new ConversionServiceIdentifierParser(conversionService, identifierClass.asSubclass(Serializable.class));
+    }
+
+}
@@ -0,0 +1,34 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web.identifier;
+
+/**
+ * Parses {@link Long} identifiers directly from the path characters.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public class LongIdentifierParser implements IdentifierParser<Long> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long parse(CharSequence path, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+
+        long value = 0;
+        for (int index = start; index < end; index++) {
+            int digit = path.charAt(index) - '0';
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web.identifier;
+
+import java.util.UUID;
+
+/**
+ * Parses {@link UUID} identifiers in their canonical form
+ * ({@code 8-4-4-4-12} hexadecimal digits) directly from the path characters.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public class UuidIdentifierParser implements IdentifierParser<UUID> {
+
+    private static final int LENGTH = 36;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UUID parse(CharSequence path, int start, int end) {
+        if (end - start != LENGTH) {
+            return null;
+        }
+
+        long mostSignificant = 0;
+        long leastSignificant = 0;
+        int digits = 0;
+        for (int index = start; index < end; index++) {
+            char current = path.charAt(index);
+            int offset = index - start;
+            if (offset == 8 || offset == 13 || offset == 18 || offset == 23) {
+                if (current != '-') {
+                    return null;
+                }
+                continue;
+            }
+
+            int value = Character.digit(current, 16);
+            if (value < 0) {
+                return null;
+            }
+            if (digits++ < 16) {
+                mostSignificant = (mostSignificant << 4) | value;
+            } else {
+                leastSignificant = (leastSignificant << 4) | value;
+            }
+        }
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+}
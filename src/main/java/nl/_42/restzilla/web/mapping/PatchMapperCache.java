@@ -0,0 +1,115 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web.mapping;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.beanmapper.BeanMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Bounded cache of downsized bean mappers, used for patch requests. Clients tend
+ * to patch the same few property combinations, allowing us to reuse mappers.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public class PatchMapperCache {
+
+    private final BeanMapper beanMapper;
+
+    private final Cache<Key, BeanMapper> mappers;
+
+    /**
+     * Construct a new patch mapper cache.
+     *
+     * @param beanMapper the bean mapper to downsize
+     * @param maximumSize the maximum number of cached mappers
+     */
+    public PatchMapperCache(BeanMapper beanMapper, long maximumSize) {
+        this.beanMapper = beanMapper;
+        this.mappers = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Retrieve the mapper that only maps the provided properties.
+     *
+     * @param inputType the input type
+     * @param propertyNames the property names
+     * @return the downsized mapper
+     */
+    public BeanMapper getMapper(Class<?> inputType, Collection<String> propertyNames) {
+        List<String> normalized = new ArrayList<>(propertyNames);
+        Collections.sort(normalized);
+
+        try {
+            return mappers.get(new Key(inputType, normalized), () -> build(normalized));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not build patch mapper for " + inputType.getName(), e.getCause());
+        }
+    }
+
+    private BeanMapper build(List<String> propertyNames) {
+        return beanMapper.wrap().downsizeSource(propertyNames).build();
+    }
+
+    /**
+     * Retrieve the hit and miss statistics.
+     *
+     * @return the statistics
+     */
+    public CacheStats getStats() {
+        return mappers.stats();
+    }
+
+    /**
+     * Retrieve the number of cached mappers.
+     *
+     * @return the size
+     */
+    public long size() {
+        return mappers.size();
+    }
+
+    private static final class Key {
+
+        private final Class<?> inputType;
+
+        private final List<String> propertyNames;
+
+        private final int hashCode;
+
+        private Key(Class<?> inputType, List<String> propertyNames) {
+            this.inputType = inputType;
+            this.propertyNames = propertyNames;
+            this.hashCode = Objects.hash(inputType, propertyNames);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return inputType.equals(other.inputType) && propertyNames.equals(other.propertyNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
@@ -5,10 +5,13 @@ import nl._42.restzilla.service.CrudService;
 import java.io.Serializable;
 import java.util.List;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Persistable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 /**
  * Adapts the {@link CrudService} to the {@link Listable} interface.
@@ -44,6 +47,22 @@ public class CrudServiceListable<T extends Persistable<ID>, ID extends Serializa
         return crudService.findAll(pageable);
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<T> findSlice(Pageable pageable) {
+        return crudService.findSlice(pageable);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Window<T> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        return crudService.findAll(position, sort, limit);
+    }
+    
     /**
      * {@inheritDoc}
      */
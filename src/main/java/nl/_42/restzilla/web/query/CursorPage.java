@@ -0,0 +1,66 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web.query;
+
+import nl._42.restzilla.web.util.KeysetCursor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+/**
+ * Page of results retrieved by keyset, providing the cursor of the next page.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+
+    private final String next;
+
+    private CursorPage(List<T> content, String next) {
+        this.content = content;
+        this.next = next;
+    }
+
+    /**
+     * Create a page from a window of results.
+     *
+     * @param window the window
+     * @param <T> the result type
+     * @return the page
+     */
+    public static <T> CursorPage<T> of(Window<T> window) {
+        String next = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            next = KeysetCursor.encode(position.getKeys());
+        }
+        return new CursorPage<>(window.getContent(), next);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return content.size();
+    }
+
+    public boolean isLast() {
+        return next == null;
+    }
+
+    /**
+     * Retrieve the cursor of the next page, provided as {@code cursor} parameter.
+     *
+     * @return the next cursor, or {@code null} on the last page
+     */
+    public String getNext() {
+        return next;
+    }
+
+}
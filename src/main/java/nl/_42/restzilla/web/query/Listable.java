@@ -5,9 +5,12 @@ package nl._42.restzilla.web.query;
 
 import java.util.List;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 /**
  * Interface for resource, capable of retrieving entities.
@@ -32,6 +35,24 @@ public interface Listable<T> {
      * @return the entities in that page
      */
     Page<T> findAll(Pageable pageable);
+
+    /**
+     * Returns a slice of entities, without counting the total.
+     * 
+     * @param pageable the pageable
+     * @return the entities in that slice
+     */
+    Slice<T> findSlice(Pageable pageable);
+
+    /**
+     * Returns the entities after a keyset position, sorted.
+     * 
+     * @param position the position, initial for the first window
+     * @param sort the sort
+     * @param limit the maximum number of entities
+     * @return the window of entities
+     */
+    Window<T> findAll(KeysetScrollPosition position, Sort sort, int limit);
     
     /**
      * Retrieve the entity class.
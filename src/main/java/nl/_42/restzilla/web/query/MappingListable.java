@@ -4,10 +4,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import nl._42.restzilla.web.mapping.Mapper;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 /**
  * Listable adapter that performs mappings after retrieving the entities.
@@ -72,6 +76,25 @@ public class MappingListable<T> implements Listable<T>, Finder<T> {
         return new PageImpl<T>(transformed, pageable, entities.getTotalElements());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<T> findSlice(Pageable pageable) {
+        Slice<?> entities = delegate.findSlice(pageable);
+        List<T> transformed = mapList(entities.getContent());
+        return new SliceImpl<T>(transformed, pageable, entities.hasNext());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Window<T> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        Window<?> entities = delegate.findAll(position, sort, limit);
+        return entities.map(entity -> mapper.map(entity, resultType));
+    }
+
     /**
      * {@inheritDoc}
      */
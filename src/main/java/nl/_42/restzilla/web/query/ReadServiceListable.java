@@ -4,10 +4,13 @@
 package nl._42.restzilla.web.query;
 
 import nl._42.restzilla.service.ReadService;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Persistable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.io.Serializable;
 import java.util.List;
@@ -50,6 +53,22 @@ public class ReadServiceListable<T extends Persistable<ID>, ID extends Serializa
         return readService.findAll(entityClass, pageable);
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<T> findSlice(Pageable pageable) {
+        return readService.findSlice(entityClass, pageable);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Window<T> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        return readService.findAll(entityClass, position, sort, limit);
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -1,7 +1,11 @@
 package nl._42.restzilla.web.util;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
@@ -50,4 +54,49 @@ public class JsonUtil {
         return propertyNames;
     }
 
+    /**
+     * Read a value from JSON content, while collecting the property names mentioned
+     * in that same content. The content is tokenized only once, tokens are buffered
+     * and then deserialized by the reader.
+     * 
+     * @param parser the parser of our JSON content
+     * @param reader the reader of our value type
+     * @param propertyNames the set to add all property names to
+     * @param <T> the value type
+     * @return the value
+     * @throws IOException whenever the content could not be read
+     */
+    public static <T> T readValue(JsonParser parser, ObjectReader reader, Set<String> propertyNames) throws IOException {
+        try (TokenBuffer buffer = new TokenBuffer(parser)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                copyObject(parser, buffer, "", propertyNames);
+            } else if (parser.currentToken() != null) {
+                buffer.copyCurrentStructure(parser);
+            }
+            return reader.readValue(buffer.asParser(parser.getCodec()));
+        }
+    }
+
+    private static void copyObject(JsonParser parser, TokenBuffer buffer, String base, Set<String> propertyNames) throws IOException {
+        buffer.copyCurrentEvent(parser);
+        boolean empty = true;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            empty = false;
+            buffer.copyCurrentEvent(parser);
+            String fieldName = parser.currentName();
+            String propertyName = StringUtils.hasLength(base) ? base + "." + fieldName : fieldName;
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                copyObject(parser, buffer, propertyName, propertyNames);
+            } else {
+                propertyNames.add(propertyName);
+                buffer.copyCurrentStructure(parser);
+            }
+        }
+        buffer.copyCurrentEvent(parser);
+
+        if (empty && StringUtils.hasLength(base)) {
+            propertyNames.add(base);
+        }
+    }
+
 }
@@ -0,0 +1,70 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.web.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes keyset positions into opaque cursors, and back. Each cursor is the
+ * URL safe base64 of a JSON object, containing the sort values of the last
+ * retrieved entity as strings.
+ *
+ * @author agent
+ * @since Oct 18, 2026
+ */
+public class KeysetCursor {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final TypeReference<LinkedHashMap<String, String>> KEYS_TYPE = new TypeReference<LinkedHashMap<String, String>>() {
+    };
+
+    /**
+     * Encode the keys into a cursor.
+     *
+     * @param keys the sort values, per property
+     * @return the cursor
+     */
+    public static String encode(Map<String, ?> keys) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, ?> key : keys.entrySet()) {
+            values.put(key.getKey(), toString(key.getValue()));
+        }
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(OBJECT_MAPPER.writeValueAsBytes(values));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor.", e);
+        }
+    }
+
+    private static String toString(Object value) {
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Decode a cursor into its keys.
+     *
+     * @param cursor the cursor
+     * @return the sort values, per property
+     * @throws IllegalArgumentException whenever the cursor is invalid
+     */
+    public static Map<String, String> decode(String cursor) {
+        try {
+            return OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KEYS_TYPE);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+}
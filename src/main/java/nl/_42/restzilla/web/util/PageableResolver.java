@@ -6,9 +6,12 @@ package nl._42.restzilla.web.util;
 import nl._42.restzilla.RestProperties;
 import nl._42.restzilla.SortingDefault;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.domain.Sort.Order;
@@ -32,6 +35,9 @@ public class PageableResolver {
     public static final String SIZE_PARAMETER = "size";
     public static final String SORT_PARAMETER = "sort";
     public static final String SORT_DELIMITER = ",";
+    public static final String CURSOR_PARAMETER = "cursor";
+    public static final String AFTER_PARAMETER = "after";
+    public static final String COUNT_PARAMETER = "count";
 
     /**
      * Determine if this request has pagination information.
@@ -43,6 +49,61 @@ public class PageableResolver {
         return isNotBlank(request.getParameter(PAGE_PARAMETER));
     }
     
+    /**
+     * Determine if the total number of entities should be counted, as specified
+     * by the {@code count} parameter. Without counting, slices are returned.
+     * 
+     * @param request the request
+     * @param defaultValue the value when no parameter is provided
+     * @return {@code true} if the total should be counted, else {@code false}
+     */
+    public static boolean isCounted(HttpServletRequest request, boolean defaultValue) {
+        String count = request.getParameter(COUNT_PARAMETER);
+        if (isNotBlank(count)) {
+            return Boolean.parseBoolean(count);
+        } else {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Determine if this request uses keyset pagination, which is the case when
+     * a {@code cursor} parameter is provided. The first page has an empty cursor.
+     * 
+     * @param request the request
+     * @return {@code true} if keyset pagination is used, else {@code false}
+     */
+    public static boolean isKeyset(HttpServletRequest request) {
+        return request.getParameter(CURSOR_PARAMETER) != null;
+    }
+
+    /**
+     * Extract the keyset position from the {@code cursor} parameter of this request.
+     * 
+     * @param request the request
+     * @return the resolved position
+     * @throws IllegalArgumentException whenever the cursor is invalid
+     */
+    public static KeysetScrollPosition getPosition(HttpServletRequest request) {
+        String cursor = request.getParameter(CURSOR_PARAMETER);
+        if (StringUtils.isBlank(cursor)) {
+            return ScrollPosition.keyset();
+        }
+        return ScrollPosition.forward(KeysetCursor.decode(cursor));
+    }
+
+    /**
+     * Extract the page size from this request, between one and the maximum page size.
+     * 
+     * @param request the request
+     * @param properties the properties, used for defaults
+     * @return the page size
+     */
+    public static int getSize(HttpServletRequest request, RestProperties properties) {
+        int size = getParameterAsInteger(request, SIZE_PARAMETER, properties.getDefaultSize());
+        return Math.max(1, Math.min(size, properties.getMaxPageSize()));
+    }
+
     /**
      * Extract the {@link Pageable} instance from this request.
      * 
@@ -65,8 +126,7 @@ public class PageableResolver {
     public static Pageable getPageable(HttpServletRequest request, Sort sort, RestProperties properties) {
         int parsed = getParameterAsInteger(request, PAGE_PARAMETER, properties.getDefaultPage());
         int page = Math.max(properties.isOneIndexedParameters() ? parsed - 1 : parsed, 0);
-        int size = Math.min(getParameterAsInteger(request, SIZE_PARAMETER, properties.getDefaultSize()), properties.getMaxPageSize());
-        return PageRequest.of(page, size, sort);
+        return PageRequest.of(page, getSize(request, properties), sort);
     }
 
     private static int getParameterAsInteger(HttpServletRequest request, String name, int defaultValue) {
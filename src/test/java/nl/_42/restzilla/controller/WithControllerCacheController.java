@@ -0,0 +1,18 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.controller;
+
+import nl._42.restzilla.RestCache;
+import nl._42.restzilla.RestResource;
+import nl._42.restzilla.model.WithControllerCache;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequestMapping("/with-controller-cache")
+@RestResource(entityType = WithControllerCache.class, cache = @RestCache(enabled = true, countTimeToLive = 5))
+public class WithControllerCacheController {
+
+}
@@ -0,0 +1,22 @@
+/*
+ * (C) 2014 42 bv (www.42.nl). All rights reserved.
+ */
+package nl._42.restzilla.model;
+
+import jakarta.persistence.Entity;
+
+@Entity
+// REST resource, including its cache, is defined in the controller class.
+public class WithControllerCache extends BaseEntity {
+    
+    private String name;
+    
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+}
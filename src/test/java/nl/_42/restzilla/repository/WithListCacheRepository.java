@@ -0,0 +1,8 @@
+package nl._42.restzilla.repository;
+
+import nl._42.restzilla.model.WithListCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface WithListCacheRepository extends JpaRepository<WithListCache, Long> {
+
+}
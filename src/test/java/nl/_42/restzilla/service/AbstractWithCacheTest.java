@@ -0,0 +1,50 @@
+package nl._42.restzilla.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import nl._42.restzilla.AbstractSpringTest;
+import nl._42.restzilla.model.WithCache;
+import nl._42.restzilla.repository.WithCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+/**
+ * Base for tests of the cached {@link WithCacheService}, with entity 42 in its cache.
+ */
+public abstract class AbstractWithCacheTest extends AbstractSpringTest {
+
+    @Autowired
+    protected WithCacheService service;
+
+    @Autowired
+    protected Cache cache;
+
+    @Autowired
+    protected WithCacheRepository repository;
+
+    @Autowired
+    protected PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    @BeforeEach
+    public void testSetup() {
+        cache.clear();
+
+        WithCache entity = new WithCache();
+        entity.setId(42L);
+        entity.setName("Test");
+
+        cache.put(findKey(42L), Optional.of(entity));
+    }
+
+    protected static CacheKey findKey(Long id) {
+        return new CacheKey(WithCache.class, "find", id);
+    }
+
+}
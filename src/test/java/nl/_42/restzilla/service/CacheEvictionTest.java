@@ -0,0 +1,26 @@
+package nl._42.restzilla.service;
+
+import nl._42.restzilla.model.WithCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CacheEvictionTest extends AbstractWithCacheTest {
+
+    @Test
+    public void testSaveEvictsOnlyAffectedEntity() {
+        WithCache entity = new WithCache();
+        entity.setName("Other");
+        entity = service.save(entity);
+
+        service.findOne(entity.getId());
+        Assertions.assertNotNull(cache.get(findKey(entity.getId())));
+
+        entity.setName("Changed");
+        service.save(entity);
+
+        Assertions.assertNull(cache.get(findKey(entity.getId())));
+        Assertions.assertNotNull(cache.get(findKey(42L)));
+        Assertions.assertEquals("Test", service.findOne(42L).getName());
+    }
+
+}
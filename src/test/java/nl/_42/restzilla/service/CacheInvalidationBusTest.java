@@ -0,0 +1,42 @@
+package nl._42.restzilla.service;
+
+import nl._42.restzilla.AbstractSpringTest;
+import nl._42.restzilla.model.WithCache;
+import nl._42.restzilla.repository.WithCacheRepository;
+import nl._42.restzilla.service.cache.LoopbackInvalidationBus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+public class CacheInvalidationBusTest extends AbstractSpringTest {
+
+    @Autowired
+    private WithCacheRepository repository;
+
+    @Test
+    public void testInvalidationBus() {
+        LoopbackInvalidationBus bus = new LoopbackInvalidationBus();
+        DefaultCrudService<WithCache, Long> first = buildNode(bus);
+        DefaultCrudService<WithCache, Long> second = buildNode(bus);
+
+        WithCache entity = new WithCache();
+        entity.setName("Original");
+        final Long id = first.save(entity).getId();
+        Assertions.assertEquals("Original", second.findOne(id).getName());
+
+        WithCache changed = first.getOne(id);
+        changed.setName("Changed");
+        first.save(changed);
+
+        Assertions.assertEquals("Changed", second.findOne(id).getName());
+    }
+
+    private DefaultCrudService<WithCache, Long> buildNode(LoopbackInvalidationBus bus) {
+        DefaultCrudService<WithCache, Long> node = new DefaultCrudService<>(WithCache.class, repository);
+        node.setCache(new ConcurrentMapCache("node"));
+        node.setInvalidationBus(bus);
+        return node;
+    }
+
+}
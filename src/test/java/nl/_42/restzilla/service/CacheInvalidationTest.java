@@ -0,0 +1,48 @@
+package nl._42.restzilla.service;
+
+import nl._42.restzilla.model.WithCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class CacheInvalidationTest extends AbstractWithCacheTest {
+
+    @Test
+    public void testInvalidateAfterCommit() {
+        WithCache entity = new WithCache();
+        entity.setName("Original");
+        final Long id = service.save(entity).getId();
+        service.findOne(id);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            WithCache current = service.getOne(id);
+            current.setName("Changed");
+            service.save(current);
+
+            Assertions.assertNotNull(cache.get(findKey(id)));
+            Assertions.assertEquals("Changed", service.findOne(id).getName());
+        });
+
+        Assertions.assertNull(cache.get(findKey(id)));
+        Assertions.assertEquals("Changed", service.findOne(id).getName());
+    }
+
+    @Test
+    public void testSkipInvalidateOnRollback() {
+        WithCache entity = new WithCache();
+        entity.setName("Original");
+        final Long id = service.save(entity).getId();
+        service.findOne(id);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            WithCache other = new WithCache();
+            other.setName("Other");
+            service.save(other);
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertNotNull(cache.get(findKey(id)));
+        Assertions.assertEquals(1, service.findAll().size());
+    }
+
+}
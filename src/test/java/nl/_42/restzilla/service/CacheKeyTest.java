@@ -0,0 +1,29 @@
+package nl._42.restzilla.service;
+
+import nl._42.restzilla.model.User;
+import nl._42.restzilla.model.WithCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CacheKeyTest {
+
+    @Test
+    public void testEquals() {
+        CacheKey key = new CacheKey(User.class, "find", 42L);
+        Assertions.assertEquals(key, new CacheKey(User.class, "find", 42L));
+        Assertions.assertEquals(key.hashCode(), new CacheKey(User.class, "find", 42L).hashCode());
+
+        Assertions.assertNotEquals(key, new CacheKey(WithCache.class, "find", 42L));
+        Assertions.assertNotEquals(key, new CacheKey(User.class, "findAll", 42L));
+        Assertions.assertNotEquals(key, new CacheKey(User.class, "find", 24L));
+        Assertions.assertNotEquals(key, key.withGeneration(1L));
+        Assertions.assertEquals(key.withGeneration(1L), key.withGeneration(1L));
+    }
+
+    @Test
+    public void testToString() {
+        Assertions.assertEquals("User.find(42)", new CacheKey(User.class, "find", 42L).toString());
+        Assertions.assertEquals("User.findAll(null)@2", new CacheKey(User.class, "findAll", null).withGeneration(2L).toString());
+    }
+
+}
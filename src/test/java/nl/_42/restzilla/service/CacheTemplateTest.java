@@ -0,0 +1,246 @@
+package nl._42.restzilla.service;
+
+import nl._42.restzilla.service.cache.BoundedCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CacheTemplateTest {
+
+    private final CacheTemplate template = new CacheTemplate(new ConcurrentMapCache("test"));
+
+    @Test
+    public void testLookupGeneration() {
+        AtomicInteger loads = new AtomicInteger();
+
+        CacheKey key = new CacheKey(Object.class, "findAll", null);
+
+        Assertions.assertEquals(1, (int) template.lookupGeneration(key, loads::incrementAndGet));
+        Assertions.assertEquals(1, (int) template.lookupGeneration(key, loads::incrementAndGet));
+
+        template.invalidateGeneration();
+        Assertions.assertEquals(2, (int) template.lookupGeneration(key, loads::incrementAndGet));
+    }
+
+    @Test
+    public void testInvalidateWhileLoading() {
+        String result = template.lookup("find(1)", () -> {
+            template.invalidateNow(Collections.singletonList("find(1)"));
+            return "stale";
+        });
+
+        Assertions.assertEquals("stale", result);
+        Assertions.assertNull(template.getCache().get("find(1)"));
+        Assertions.assertEquals("fresh", template.lookup("find(1)", () -> "fresh"));
+    }
+
+    @Test
+    public void testInvalidateDetachesWaiters() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> template.lookup("find(1)", () -> {
+                loading.countDown();
+                await(release);
+                return "stale";
+            }));
+            Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            template.invalidateNow(Collections.singletonList("find(1)"));
+            Assertions.assertEquals("fresh", template.lookup("find(1)", () -> "fresh"));
+
+            release.countDown();
+            Assertions.assertEquals("stale", stale.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("fresh", template.lookup("find(1)", () -> "other"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectOneTimeLookup() {
+        BoundedCache bounded = new BoundedCache("test", 3, null);
+        CacheTemplate admitting = new CacheTemplate(bounded);
+        for (int access = 0; access < 4; access++) {
+            admitting.lookup("find(1)", () -> "one");
+            admitting.lookup("find(2)", () -> "two");
+        }
+
+        admitting.lookup("find(3)", () -> "three");
+        admitting.lookup("find(4)", () -> "four");
+        Assertions.assertEquals("five", admitting.lookup("find(5)", () -> "five"));
+        Assertions.assertNull(bounded.peek("find(3)"));
+        Assertions.assertNull(bounded.peek("find(4)"));
+        Assertions.assertNotNull(bounded.peek("find(1)"));
+        Assertions.assertNotNull(bounded.peek("find(2)"));
+    }
+
+    @Test
+    public void testEvict() {
+        template.lookup("find(1)", () -> "one");
+        template.lookup("find(2)", () -> "two");
+
+        template.evict("find(1)");
+        Assertions.assertNull(template.getCache().get("find(1)"));
+        Assertions.assertNotNull(template.getCache().get("find(2)"));
+    }
+
+    @Test
+    public void testEmptyNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        template.lookup("find(1)", () -> empty(loads));
+        template.lookup("find(1)", () -> empty(loads));
+
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertNull(template.getCache().get("find(1)"));
+    }
+
+    @Test
+    public void testNegativeCache() {
+        BoundedCache negativeCache = new BoundedCache("negative", 10, Duration.ofSeconds(10));
+        CacheTemplate negative = new CacheTemplate(new ConcurrentMapCache("test"), negativeCache);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assertions.assertFalse(negative.lookup("find(1)", () -> empty(loads)).isPresent());
+        Assertions.assertFalse(negative.lookup("find(1)", () -> empty(loads)).isPresent());
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertNull(negative.getCache().get("find(1)"));
+        Assertions.assertEquals(1, negativeCache.getStats().hitCount());
+
+        negative.invalidateNow(Collections.singletonList("find(1)"));
+        Assertions.assertEquals("one", negative.lookup("find(1)", () -> Optional.of("one")).get());
+        Assertions.assertEquals(0, negativeCache.size());
+    }
+
+    private static Optional<String> empty(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        CacheTemplate uncached = new CacheTemplate();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int index = 0; index < 5; index++) {
+                results.add(executor.submit(() -> uncached.lookup("find(1)", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "one";
+                })));
+            }
+
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                Assertions.assertEquals("one", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, loads.get());
+        CacheTemplate.LoadStatistics statistics = uncached.getLoadStatistics().get("find(1)");
+        Assertions.assertEquals(1, statistics.getLoads());
+        Assertions.assertEquals(4, statistics.getCoalesced());
+        Assertions.assertTrue(statistics.getMaxWaitNanos() > 0);
+    }
+
+    @Test
+    public void testSingleFlightTimeout() throws Exception {
+        CacheTemplate uncached = new CacheTemplate();
+        uncached.setLoadTimeout(Duration.ofMillis(50));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> blocked = executor.submit(() -> uncached.lookup("find(1)", () -> {
+                loading.countDown();
+                await(release);
+                return "blocked";
+            }));
+            Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Assertions.assertEquals("direct", uncached.lookup("find(1)", () -> "direct"));
+
+            release.countDown();
+            Assertions.assertEquals("blocked", blocked.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSkipSingleFlightWhileWriting() throws Exception {
+        CacheTemplate uncached = new CacheTemplate();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> blocked = executor.submit(() -> uncached.lookup("find(1)", () -> {
+                loading.countDown();
+                await(release);
+                return "blocked";
+            }));
+            Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                Assertions.assertEquals("direct", uncached.lookup("find(1)", () -> "direct"));
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+            }
+            Assertions.assertEquals(0, uncached.getLoadStatistics().get("find(1)").getCoalesced());
+
+            release.countDown();
+            Assertions.assertEquals("blocked", blocked.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSingleFlightFailure() {
+        Assertions.assertThrows(IllegalStateException.class, () -> template.lookup("find(1)", () -> {
+            throw new IllegalStateException("Failed");
+        }));
+        Assertions.assertEquals("one", template.lookup("find(1)", () -> "one"));
+    }
+
+    @Test
+    public void testRecursiveLookup() {
+        int result = template.lookup("find(1)", () -> template.lookup("find(1)", () -> 1) + template.lookup("find(2)", () -> 2));
+        Assertions.assertEquals(3, result);
+        Assertions.assertEquals(2, (int) template.lookup("find(2)", () -> 0));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
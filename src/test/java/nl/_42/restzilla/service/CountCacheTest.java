@@ -0,0 +1,73 @@
+package nl._42.restzilla.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import nl._42.restzilla.AbstractSpringTest;
+import nl._42.restzilla.model.WithCache;
+import nl._42.restzilla.repository.WithCacheRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+
+public class CountCacheTest extends AbstractSpringTest {
+
+    @Autowired
+    private WithCacheRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    public void testCountCache() {
+        DefaultCrudService<WithCache, Long> node = new DefaultCrudService<>(WithCache.class, repository);
+        node.setEntityManager(entityManager);
+        ConcurrentMapCache countCache = new ConcurrentMapCache("count");
+        node.setCountCache(countCache);
+        insert("A", "B", "C");
+
+        Assertions.assertEquals(3, node.findAll(PageRequest.of(0, 2)).getTotalElements());
+
+        insert("D");
+        Assertions.assertEquals(3, node.findAll(PageRequest.of(0, 2)).getTotalElements());
+
+        WithCache entity = new WithCache();
+        entity.setName("E");
+        node.save(entity);
+        Assertions.assertEquals(5, node.findAll(PageRequest.of(0, 2)).getTotalElements());
+        Assertions.assertEquals(1, countCache.getNativeCache().size());
+    }
+
+    @Test
+    public void testCountCacheSkippedWhileWriting() {
+        DefaultCrudService<WithCache, Long> node = new DefaultCrudService<>(WithCache.class, repository);
+        node.setEntityManager(entityManager);
+        node.setCountCache(new ConcurrentMapCache("count"));
+        insert("A", "B", "C");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            WithCache entity = new WithCache();
+            entity.setName("D");
+            node.save(entity);
+            Assertions.assertEquals(4, node.findAll(PageRequest.of(0, 2)).getTotalElements());
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertEquals(3, node.findAll(PageRequest.of(0, 2)).getTotalElements());
+    }
+
+    private void insert(String... names) {
+        for (String name : Arrays.asList(names)) {
+            getJdbcTemplate().update("INSERT INTO WithCache (name) VALUES (?)", name);
+        }
+    }
+
+}
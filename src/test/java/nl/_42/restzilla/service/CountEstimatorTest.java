@@ -0,0 +1,58 @@
+package nl._42.restzilla.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import nl._42.restzilla.AbstractSpringTest;
+import nl._42.restzilla.model.WithCache;
+import nl._42.restzilla.repository.WithCacheRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CountEstimatorTest extends AbstractSpringTest {
+
+    @Autowired
+    private WithCacheRepository repository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    public void testCountEstimator() {
+        DefaultCrudService<WithCache, Long> node = new DefaultCrudService<>(WithCache.class, repository);
+        node.setEntityManager(entityManager);
+        List<Class<?>> entityClasses = new ArrayList<>();
+        node.setCountEstimator(entityClass -> {
+            entityClasses.add(entityClass);
+            return 1000L;
+        });
+        for (String name : Arrays.asList("A", "B", "C")) {
+            getJdbcTemplate().update("INSERT INTO WithCache (name) VALUES (?)", name);
+        }
+
+        Page<WithCache> page = node.findAll(PageRequest.of(0, 2, Sort.by("name")));
+        Assertions.assertEquals(1000, page.getTotalElements());
+        Assertions.assertEquals("A", page.getContent().get(0).getName());
+        Assertions.assertEquals(Arrays.asList(WithCache.class), entityClasses);
+    }
+
+    @Test
+    public void testUnknownEstimate() {
+        DefaultCrudService<WithCache, Long> node = new DefaultCrudService<>(WithCache.class, repository);
+        node.setEntityManager(entityManager);
+        node.setCountEstimator(entityClass -> null);
+        for (String name : Arrays.asList("A", "B", "C")) {
+            getJdbcTemplate().update("INSERT INTO WithCache (name) VALUES (?)", name);
+        }
+
+        Assertions.assertEquals(3, node.findAll(PageRequest.of(0, 2)).getTotalElements());
+    }
+
+}
@@ -0,0 +1,33 @@
+package nl._42.restzilla.service;
+
+import nl._42.restzilla.model.WithCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FindAllByIdsTest extends AbstractWithCacheTest {
+
+    @Test
+    public void testFindAllByIds() {
+        WithCache first = new WithCache();
+        first.setName("First");
+        first = repository.save(first);
+
+        WithCache second = new WithCache();
+        second.setName("Second");
+        second = repository.save(second);
+
+        List<WithCache> results = service.findAll(Arrays.asList(second.getId(), 42L, 999L, first.getId()));
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals("Second", results.get(0).getName());
+        Assertions.assertEquals("Test", results.get(1).getName());
+        Assertions.assertEquals("First", results.get(2).getName());
+
+        Assertions.assertNotNull(cache.get(findKey(first.getId())));
+        Assertions.assertNotNull(cache.get(findKey(second.getId())));
+        Assertions.assertNull(cache.get(findKey(999L)));
+    }
+
+}
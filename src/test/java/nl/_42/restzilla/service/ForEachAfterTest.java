@@ -0,0 +1,65 @@
+package nl._42.restzilla.service;
+
+import nl._42.restzilla.model.WithCache;
+import nl._42.restzilla.model.WithStreaming;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ForEachAfterTest extends AbstractWithCacheTest {
+
+    @Test
+    public void testForEachAfter() {
+        List<Long> ids = new ArrayList<>();
+        for (String name : Arrays.asList("A", "B", "C")) {
+            WithCache entity = new WithCache();
+            entity.setName(name);
+            ids.add(repository.save(entity).getId());
+        }
+
+        List<String> names = new ArrayList<>();
+        service.forEachAfter(ids.get(0), 1, entity -> names.add(entity.getName()));
+        Assertions.assertEquals(Arrays.asList("B", "C"), names);
+    }
+
+    @Test
+    public void testForEachAfterKeepsOtherEntitiesManaged() {
+        WithCache entity = new WithCache();
+        entity.setName("A");
+        repository.save(entity);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            WithStreaming other = new WithStreaming();
+            other.setName("Other");
+            entityManager.persist(other);
+
+            List<WithCache> streamed = new ArrayList<>();
+            service.forEachAfter(null, 10, streamed::add);
+
+            Assertions.assertEquals(1, streamed.size());
+            Assertions.assertTrue(entityManager.contains(other));
+            Assertions.assertFalse(entityManager.contains(streamed.get(0)));
+        });
+    }
+
+    @Test
+    public void testForEachAfterWithoutEntityManager() {
+        List<Long> ids = new ArrayList<>();
+        for (String name : Arrays.asList("A", "B", "C")) {
+            WithCache entity = new WithCache();
+            entity.setName(name);
+            ids.add(repository.save(entity).getId());
+        }
+
+        DefaultCrudService<WithCache, Long> pagingService = new DefaultCrudService<>(WithCache.class, repository);
+
+        List<String> names = new ArrayList<>();
+        pagingService.forEachAfter(ids.get(0), 1, entity -> names.add(entity.getName()));
+        Assertions.assertEquals(Arrays.asList("B", "C"), names);
+    }
+
+}
@@ -0,0 +1,55 @@
+package nl._42.restzilla.service;
+
+import nl._42.restzilla.RestProperties;
+import nl._42.restzilla.model.WithCache;
+import nl._42.restzilla.model.WithStreaming;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ForEachTest extends AbstractWithCacheTest {
+
+    @Test
+    public void testForEach() {
+        for (String name : Arrays.asList("B", "C", "A")) {
+            WithCache entity = new WithCache();
+            entity.setName(name);
+            repository.save(entity);
+        }
+
+        List<String> names = new ArrayList<>();
+        service.setStreamFetchSize(2);
+        try {
+            service.forEach(Sort.by("name"), entity -> names.add(entity.getName()));
+        } finally {
+            service.setStreamFetchSize(RestProperties.DEFAULT_STREAM_FETCH_SIZE);
+        }
+        Assertions.assertEquals(Arrays.asList("A", "B", "C"), names);
+    }
+
+    @Test
+    public void testForEachKeepsOtherEntitiesManaged() {
+        WithCache entity = new WithCache();
+        entity.setName("A");
+        repository.save(entity);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            WithStreaming other = new WithStreaming();
+            other.setName("Other");
+            entityManager.persist(other);
+
+            List<WithCache> streamed = new ArrayList<>();
+            service.forEach(Sort.by("name"), streamed::add);
+
+            Assertions.assertEquals(1, streamed.size());
+            Assertions.assertTrue(entityManager.contains(other));
+            Assertions.assertFalse(entityManager.contains(streamed.get(0)));
+        });
+    }
+
+}
@@ -0,0 +1,59 @@
+package nl._42.restzilla.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestIdentityMapTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testLoadOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        Assertions.assertEquals("one", RequestIdentityMap.get(Object.class, 1L, this::load));
+        Assertions.assertEquals("one", RequestIdentityMap.get(Object.class, 1L, this::load));
+        Assertions.assertEquals(1, loads.get());
+
+        RequestIdentityMap.get(String.class, 1L, this::load);
+        Assertions.assertEquals(2, loads.get());
+
+        RequestIdentityMap.clear();
+        RequestIdentityMap.get(Object.class, 1L, this::load);
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testNewRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        RequestIdentityMap.get(Object.class, 1L, this::load);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        RequestIdentityMap.get(Object.class, 1L, this::load);
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testWithoutRequest() {
+        RequestIdentityMap.get(Object.class, 1L, this::load);
+        RequestIdentityMap.get(Object.class, 1L, this::load);
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    private String load() {
+        loads.incrementAndGet();
+        return "one";
+    }
+
+}
@@ -0,0 +1,46 @@
+package nl._42.restzilla.service;
+
+import nl._42.restzilla.model.WithCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SaveAllTest extends AbstractWithCacheTest {
+
+    @Test
+    public void testSaveAll() {
+        WithCache first = new WithCache();
+        first.setName("First");
+
+        WithCache second = new WithCache();
+        second.setName("Second");
+
+        List<WithCache> results = service.saveAll(Arrays.asList(first, second));
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertEquals("First", results.get(0).getName());
+        Assertions.assertEquals("Second", results.get(1).getName());
+
+        Assertions.assertNotNull(cache.get(findKey(42L)));
+        Assertions.assertEquals(2, service.findAll().size());
+    }
+
+    @Test
+    public void testSaveAllKeepsOtherEntitiesManaged() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            WithCache other = new WithCache();
+            other.setName("Other");
+            other = repository.save(other);
+
+            WithCache saved = new WithCache();
+            saved.setName("Saved");
+            List<WithCache> results = service.saveAll(Arrays.asList(saved));
+
+            Assertions.assertTrue(entityManager.contains(other));
+            Assertions.assertFalse(entityManager.contains(results.get(0)));
+        });
+    }
+
+}
@@ -1,33 +1,12 @@
 package nl._42.restzilla.service;
 
-import nl._42.restzilla.AbstractSpringTest;
 import nl._42.restzilla.model.WithCache;
 import org.junit.jupiter.api.Assertions;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.Cache;
 
 import java.util.Optional;
 
-public class WithCacheServiceTest extends AbstractSpringTest {
-    
-    @Autowired
-    private WithCacheService service;
-
-    @Autowired
-    private Cache cache;
-    
-    @BeforeEach
-    public void testSetup() {
-        cache.clear();
-        
-        WithCache entity = new WithCache();
-        entity.setId(42L);
-        entity.setName("Test");
-        
-        cache.put("find(42)", Optional.of(entity));
-    }
+public class WithCacheServiceTest extends AbstractWithCacheTest {
 
     @Test
     public void testCacheFindOne() {
@@ -0,0 +1,25 @@
+package nl._42.restzilla.service;
+
+import static org.springframework.context.annotation.ScopedProxyMode.TARGET_CLASS;
+import nl._42.restzilla.model.WithListCache;
+import nl._42.restzilla.repository.WithListCacheRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional
+@Scope(proxyMode = TARGET_CLASS)
+public class WithListCacheService extends DefaultCrudService<WithListCache, Long> {
+    
+    @Autowired
+    public WithListCacheService(WithListCacheRepository repository, Cache cache) {
+        super(repository);
+        setCache(cache);
+        setListCaching(true);
+    }
+    
+}
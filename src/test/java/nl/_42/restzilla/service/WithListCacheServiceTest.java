@@ -0,0 +1,56 @@
+package nl._42.restzilla.service;
+
+import nl._42.restzilla.AbstractSpringTest;
+import nl._42.restzilla.model.WithListCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+public class WithListCacheServiceTest extends AbstractSpringTest {
+
+    @Autowired
+    private WithListCacheService service;
+
+    @Autowired
+    private Cache cache;
+
+    @BeforeEach
+    public void testSetup() {
+        cache.clear();
+    }
+
+    @Test
+    public void testCacheFindAll() {
+        WithListCache entity = new WithListCache();
+        entity.setName("First");
+        service.save(entity);
+
+        Sort sort = Sort.by("name");
+        Assertions.assertSame(service.findAll(sort), service.findAll(sort));
+
+        Page<WithListCache> page = service.findAll(PageRequest.of(0, 10, sort));
+        Assertions.assertSame(page, service.findAll(PageRequest.of(0, 10, sort)));
+        Assertions.assertEquals(1, page.getTotalElements());
+
+        WithListCache other = new WithListCache();
+        other.setName("Second");
+        service.save(other);
+
+        Assertions.assertEquals(2, service.findAll(sort).size());
+        Assertions.assertEquals(2, service.findAll(PageRequest.of(0, 10, sort)).getTotalElements());
+        Assertions.assertEquals(2, countFindAllEntries(), "Entries of the previous generation should be evicted");
+    }
+
+    private long countFindAllEntries() {
+        return ((ConcurrentMapCache) cache).getNativeCache().keySet().stream()
+            .filter(key -> key instanceof CacheKey && !((CacheKey) key).getOperation().equals("find"))
+            .count();
+    }
+
+}
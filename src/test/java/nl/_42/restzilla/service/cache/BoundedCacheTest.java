@@ -0,0 +1,144 @@
+package nl._42.restzilla.service.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testPutAndGet() {
+        BoundedCache cache = new BoundedCache("test", 10, null);
+        cache.put("one", 1);
+        cache.put("null", null);
+
+        Assertions.assertEquals(1, cache.get("one").get());
+        Assertions.assertNull(cache.get("null").get());
+        Assertions.assertNull(cache.get("two"));
+        Assertions.assertEquals(2, cache.get("two", () -> 2));
+
+        cache.evict("one");
+        Assertions.assertNull(cache.get("one"));
+        Assertions.assertEquals(0.4, cache.getStats().hitRate(), 0.01);
+    }
+
+    @Test
+    public void testMaximumSize() {
+        BoundedCache cache = new BoundedCache("test", 10, null);
+        for (int index = 0; index < 100; index++) {
+            cache.get(index);
+            cache.put(index, index);
+        }
+        Assertions.assertTrue(cache.size() <= 10);
+        Assertions.assertTrue(cache.getRejectedCount() > 0);
+    }
+
+    @Test
+    public void testAdmitFrequentEntries() {
+        BoundedCache cache = new BoundedCache("test", 10, null);
+        for (int index = 0; index < 10; index++) {
+            cache.put(index, index);
+            for (int access = 0; access < 3; access++) {
+                cache.get(index);
+            }
+        }
+
+        Assertions.assertNull(cache.get("rare"));
+        cache.put("rare", "value");
+        Assertions.assertEquals("value", cache.peek("rare").get());
+        cache.put("other", "value");
+        Assertions.assertNull(cache.peek("rare"));
+
+        for (int access = 0; access < 4; access++) {
+            cache.get("frequent");
+        }
+        cache.put("frequent", "value");
+        cache.put("next", "value");
+        Assertions.assertEquals("value", cache.peek("frequent").get());
+        Assertions.assertNull(cache.peek(0));
+        Assertions.assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void testWindowAdmitsNewEntries() {
+        BoundedCache cache = new BoundedCache("test", 10, null);
+        for (int index = 0; index < 10; index++) {
+            cache.put(index, index);
+            for (int access = 0; access < 15; access++) {
+                cache.get(index);
+            }
+        }
+
+        cache.put("new", "value");
+        Assertions.assertEquals("value", cache.get("new").get());
+        Assertions.assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void testExpiredEntriesDoNotBlockAdmission() throws InterruptedException {
+        BoundedCache cache = new BoundedCache("test", 2, Duration.ofMillis(20));
+        for (String key : new String[] { "a", "b" }) {
+            cache.put(key, key);
+            for (int access = 0; access < 3; access++) {
+                cache.get(key);
+            }
+        }
+        Thread.sleep(50);
+
+        cache.put("c", "c");
+        cache.put("d", "d");
+        Assertions.assertEquals("c", cache.peek("c").get());
+        Assertions.assertEquals("d", cache.peek("d").get());
+        Assertions.assertEquals(0, cache.getRejectedCount());
+    }
+
+    @Test
+    public void testConcurrentReads() throws InterruptedException {
+        BoundedCache cache = new BoundedCache("test", 100, null);
+        for (int index = 0; index < 100; index++) {
+            cache.put(index, index);
+        }
+
+        AtomicInteger misses = new AtomicInteger();
+        Thread[] readers = new Thread[4];
+        for (int reader = 0; reader < readers.length; reader++) {
+            readers[reader] = new Thread(() -> {
+                for (int read = 0; read < 10000; read++) {
+                    if (cache.get(read % 100) == null) {
+                        misses.incrementAndGet();
+                    }
+                }
+            });
+            readers[reader].start();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        Assertions.assertEquals(0, misses.get());
+        Assertions.assertEquals(100, cache.size());
+    }
+
+    @Test
+    public void testTimeToLive() throws InterruptedException {
+        BoundedCache cache = new BoundedCache("test", 10, Duration.ofMillis(10));
+        cache.put("one", 1);
+        Thread.sleep(50);
+        Assertions.assertNull(cache.get("one"));
+    }
+
+    @Test
+    public void testFrequencySketch() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        for (int index = 0; index < 20; index++) {
+            sketch.increment("hot");
+        }
+        sketch.increment("cold");
+
+        Assertions.assertEquals(15, sketch.frequency("hot"));
+        Assertions.assertEquals(1, sketch.frequency("cold"));
+        Assertions.assertEquals(0, sketch.frequency("unknown"));
+    }
+
+}
@@ -0,0 +1,149 @@
+package nl._42.restzilla.service.cache;
+
+import nl._42.restzilla.AbstractSpringTest;
+import nl._42.restzilla.model.User;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class JdbcInvalidationBusTest extends AbstractSpringTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    public void createTable() {
+        getJdbcTemplate().execute("CREATE TABLE IF NOT EXISTS " + JdbcInvalidationBus.DEFAULT_TABLE_NAME + " (" +
+            "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+            "node VARCHAR(64) NOT NULL, " +
+            "entity_type VARCHAR(255) NOT NULL, " +
+            "identifier VARCHAR(255), " +
+            "identifier_type VARCHAR(255), " +
+            "created_at TIMESTAMP NOT NULL)");
+    }
+
+    @Test
+    public void testPublishToOtherNodes() {
+        JdbcInvalidationBus first = new JdbcInvalidationBus(dataSource, "first");
+        JdbcInvalidationBus second = new JdbcInvalidationBus(dataSource, "second");
+
+        List<CacheInvalidation> firstReceived = new ArrayList<>();
+        List<CacheInvalidation> secondReceived = new ArrayList<>();
+        first.subscribe(firstReceived::add);
+        second.subscribe(secondReceived::add);
+        first.poll();
+        second.poll();
+
+        first.publish(CacheInvalidation.of(User.class.getName(), Arrays.asList(42L, 43L)));
+        first.publish(CacheInvalidation.of(User.class.getName(), Collections.emptyList()));
+        first.publish(CacheInvalidation.all(User.class.getName()));
+        first.poll();
+        second.poll();
+        second.poll();
+
+        Assertions.assertEquals(0, firstReceived.size());
+        Assertions.assertEquals(4, secondReceived.size());
+        Assertions.assertEquals(Collections.singletonList(42L), secondReceived.get(0).getIds());
+        Assertions.assertEquals(Collections.singletonList(43L), secondReceived.get(1).getIds());
+        Assertions.assertEquals(Collections.emptyList(), secondReceived.get(2).getIds());
+        Assertions.assertTrue(secondReceived.get(3).isAll());
+        Assertions.assertEquals(User.class.getName(), secondReceived.get(3).getEntityType());
+    }
+
+    @Test
+    public void testRetryFailedWrites() {
+        JdbcInvalidationBus first = new JdbcInvalidationBus(dataSource, "first");
+        JdbcInvalidationBus second = new JdbcInvalidationBus(dataSource, "second");
+
+        List<CacheInvalidation> received = new ArrayList<>();
+        second.subscribe(received::add);
+        second.poll();
+
+        first.setTableName("restzilla_missing");
+        first.publish(CacheInvalidation.of(User.class.getName(), Arrays.asList(42L)));
+        Assertions.assertThrows(RuntimeException.class, first::poll);
+
+        first.setTableName(JdbcInvalidationBus.DEFAULT_TABLE_NAME);
+        first.poll();
+        second.poll();
+
+        Assertions.assertEquals(1, received.size());
+        Assertions.assertEquals(Collections.singletonList(42L), received.get(0).getIds());
+    }
+
+    @Test
+    public void testReceiveOutOfOrderCommits() {
+        JdbcInvalidationBus bus = new JdbcInvalidationBus(dataSource, "second");
+
+        List<CacheInvalidation> received = new ArrayList<>();
+        bus.subscribe(received::add);
+        bus.poll();
+
+        // The first identity is committed after many later identities
+        long first = nextId();
+        for (long id = first + 1; id <= first + 200; id++) {
+            insert(id, 1L);
+        }
+        bus.poll();
+        Assertions.assertEquals(200, received.size());
+
+        insert(first, 42L);
+        bus.poll();
+        bus.poll();
+
+        Assertions.assertEquals(201, received.size());
+        Assertions.assertEquals(Collections.singletonList(42L), received.get(200).getIds());
+    }
+
+    @Test
+    public void testStopWaitingForMissingCommits() {
+        JdbcInvalidationBus bus = new JdbcInvalidationBus(dataSource, "second");
+        bus.setGapTimeout(Duration.ZERO);
+
+        List<CacheInvalidation> received = new ArrayList<>();
+        bus.subscribe(received::add);
+        bus.poll();
+
+        long first = nextId();
+        insert(first + 1, 1L);
+        bus.poll();
+        Assertions.assertEquals(1, received.size());
+
+        sleep(10);
+        bus.poll();
+        insert(first, 42L);
+        bus.poll();
+
+        Assertions.assertEquals(1, received.size());
+    }
+
+    private long nextId() {
+        Long max = getJdbcTemplate().queryForObject("SELECT MAX(id) FROM " + JdbcInvalidationBus.DEFAULT_TABLE_NAME, Long.class);
+        return max != null ? max + 1 : 1;
+    }
+
+    private void insert(long id, long identifier) {
+        getJdbcTemplate().update(
+            "INSERT INTO " + JdbcInvalidationBus.DEFAULT_TABLE_NAME + " (id, node, entity_type, identifier, identifier_type, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+            id, "first", User.class.getName(), Long.toString(identifier), Long.class.getName(), new Timestamp(System.currentTimeMillis())
+        );
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
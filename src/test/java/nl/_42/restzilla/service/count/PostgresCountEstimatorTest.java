@@ -0,0 +1,63 @@
+package nl._42.restzilla.service.count;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import nl._42.restzilla.model.User;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class PostgresCountEstimatorTest {
+
+    private final EntityManager entityManager = Mockito.mock(EntityManager.class, Answers.RETURNS_DEEP_STUBS);
+
+    private final Query query = Mockito.mock(Query.class);
+
+    private final PostgresCountEstimator estimator = new PostgresCountEstimator(entityManager);
+
+    @BeforeEach
+    public void setUp() {
+        SessionFactoryImplementor sessionFactory = Mockito.mock(SessionFactoryImplementor.class, Answers.RETURNS_DEEP_STUBS);
+        Mockito.when(sessionFactory.getMappingMetamodel().getEntityDescriptor(User.class).getRootTableName()).thenReturn("users");
+        Mockito.when(entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+
+        Mockito.when(entityManager.createNativeQuery(Mockito.anyString())).thenReturn(query);
+        Mockito.when(query.setParameter(1, "users")).thenReturn(query);
+    }
+
+    @Test
+    public void testEstimate() {
+        returns(Collections.singletonList(1000L));
+        Assertions.assertEquals(1000L, estimator.estimate(User.class));
+    }
+
+    @Test
+    public void testMissingTable() {
+        returns(Collections.emptyList());
+        Assertions.assertNull(estimator.estimate(User.class));
+    }
+
+    @Test
+    public void testMissingStatistics() {
+        returns(Arrays.asList((Object) null));
+        Assertions.assertNull(estimator.estimate(User.class));
+    }
+
+    @Test
+    public void testNeverAnalyzed() {
+        returns(Collections.singletonList(-1L));
+        Assertions.assertNull(estimator.estimate(User.class));
+    }
+
+    private void returns(List<?> estimates) {
+        Mockito.when(query.getResultList()).thenReturn(estimates);
+    }
+
+}
@@ -0,0 +1,48 @@
+package nl._42.restzilla.web;
+
+import nl._42.restzilla.AbstractControllerTest;
+import nl._42.restzilla.RestProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = RestProperties.BULK_CHUNK_SIZE_NAME + "=2")
+public class BulkCreateTest extends AbstractControllerTest {
+
+    @Test
+    public void testCreateInChunks() throws Exception {
+        this.webClient.perform(post("/with-validation")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + valid("A") + "," + valid("B") + "," + valid("C") + "," + valid("D") + "," + valid("E") + "]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(5))
+            .andExpect(jsonPath("$[0].name").value("A"))
+            .andExpect(jsonPath("$[4].name").value("E"));
+
+        Assertions.assertEquals(Long.valueOf(5), count());
+    }
+
+    @Test
+    public void testRollbackAllChunks() throws Exception {
+        this.webClient.perform(post("/with-validation")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + valid("A") + "," + valid("B") + "," + valid("C") + ",{\"name\": \"Invalid\"}]"))
+            .andExpect(status().is4xxClientError());
+
+        Assertions.assertEquals(Long.valueOf(0), count());
+    }
+
+    private static String valid(String name) {
+        return "{\"name\": \"" + name + "\", \"street\": \"Teststreet 42\"}";
+    }
+
+    private Long count() {
+        return getJdbcTemplate().queryForObject("SELECT count(*) FROM WithValidation", Long.class);
+    }
+
+}
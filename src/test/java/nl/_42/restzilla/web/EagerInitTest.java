@@ -0,0 +1,53 @@
+package nl._42.restzilla.web;
+
+import nl._42.restzilla.AbstractControllerTest;
+import nl._42.restzilla.RestProperties;
+import nl._42.restzilla.builder.UserBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+    RestProperties.EAGER_INIT_NAME + "=true",
+    RestProperties.OWNERSHIP_MAP_NAME + "=true",
+    RestProperties.WARM_UP_REQUESTS_NAME + "=2"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class EagerInitTest extends AbstractControllerTest {
+
+    @Autowired
+    private UserBuilder userBuilder;
+
+    @Autowired
+    private RestHandlerMapping restHandlerMapping;
+
+    @Test
+    @Order(1)
+    public void testInitializedBeforeFirstRequest() {
+        Assertions.assertTrue(restHandlerMapping.isInitialized());
+        Assertions.assertTrue(restHandlerMapping.isOwnershipResolved());
+        Assertions.assertFalse(restHandlerMapping.getHandlerMappings().isEmpty());
+        for (ResourceHandlerMapping handlerMapping : restHandlerMapping.getHandlerMappings()) {
+            Assertions.assertTrue(handlerMapping.isInitialized(), handlerMapping.getInformation().getBasePath());
+        }
+    }
+
+    @Test
+    @Order(2)
+    public void testFindAll() throws Exception {
+        userBuilder.createUser("Jan");
+
+        this.webClient.perform(get("/user"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("Jan"));
+    }
+
+}
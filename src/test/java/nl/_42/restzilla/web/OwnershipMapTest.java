@@ -0,0 +1,59 @@
+package nl._42.restzilla.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl._42.restzilla.AbstractControllerTest;
+import nl._42.restzilla.RestProperties;
+import nl._42.restzilla.builder.UserBuilder;
+import nl._42.restzilla.model.User;
+import nl._42.restzilla.model.WithController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = RestProperties.OWNERSHIP_MAP_NAME + "=true")
+public class OwnershipMapTest extends AbstractControllerTest {
+
+    @Autowired
+    private UserBuilder userBuilder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testOwnedResource() throws Exception {
+        User henk = userBuilder.createUser("Henk");
+
+        this.webClient.perform(get("/user/" + henk.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("Henk"));
+    }
+
+    @Test
+    public void testCreate() throws Exception {
+        WithController entity = new WithController();
+        entity.setName("Test");
+
+        this.webClient.perform(post("/with-controller")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(entity)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("Test"));
+
+        this.webClient.perform(get("/with-controller"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("Test"));
+    }
+
+    @Test
+    public void testNotOwned() throws Exception {
+        this.webClient.perform(get("/unknown"))
+            .andExpect(status().isNotFound());
+    }
+
+}
@@ -0,0 +1,47 @@
+package nl._42.restzilla.web;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class RequestMappingOwnershipTest {
+
+    @Test
+    public void testDeclaredMethod() {
+        RequestMappingOwnership ownership = new RequestMappingOwnership(Collections.singletonList(
+            RequestMappingInfo.paths("/user/{id}").methods(RequestMethod.GET).build()
+        ));
+
+        Assertions.assertTrue(ownership.test("user", RequestMethod.GET));
+        Assertions.assertTrue(ownership.test("USER", RequestMethod.GET));
+        Assertions.assertFalse(ownership.test("user", RequestMethod.POST));
+        Assertions.assertFalse(ownership.test("other", RequestMethod.GET));
+    }
+
+    @Test
+    public void testAnyMethod() {
+        RequestMappingOwnership ownership = new RequestMappingOwnership(Collections.singletonList(
+            RequestMappingInfo.paths("/user").build()
+        ));
+
+        Assertions.assertTrue(ownership.test("user", RequestMethod.GET));
+        Assertions.assertTrue(ownership.test("user", RequestMethod.DELETE));
+    }
+
+    @Test
+    public void testWildcard() {
+        RequestMappingOwnership ownership = new RequestMappingOwnership(Arrays.asList(
+            RequestMappingInfo.paths("/{type}/export").methods(RequestMethod.GET).build(),
+            RequestMappingInfo.paths("/user").methods(RequestMethod.POST).build()
+        ));
+
+        Assertions.assertTrue(ownership.test("other", RequestMethod.GET));
+        Assertions.assertTrue(ownership.test("user", RequestMethod.POST));
+        Assertions.assertFalse(ownership.test("other", RequestMethod.POST));
+    }
+
+}
@@ -0,0 +1,110 @@
+package nl._42.restzilla.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl._42.restzilla.AbstractControllerTest;
+import nl._42.restzilla.service.cache.BoundedCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class RestCacheTest extends AbstractControllerTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    public void testCached() throws Exception {
+        String content = this.webClient.perform(post("/with-rest-cache")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Cached\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readValue(content, JsonNode.class).get("id").asLong();
+
+        this.webClient.perform(get("/with-rest-cache/" + id))
+            .andExpect(jsonPath("$.name").value("Cached"));
+        this.webClient.perform(get("/with-rest-cache"))
+            .andExpect(jsonPath("$[0].name").value("Cached"));
+
+        getJdbcTemplate().update("UPDATE WithRestCache SET name = 'Changed'");
+
+        this.webClient.perform(get("/with-rest-cache/" + id))
+            .andExpect(jsonPath("$.name").value("Cached"));
+        this.webClient.perform(get("/with-rest-cache"))
+            .andExpect(jsonPath("$[0].name").value("Cached"));
+
+        this.webClient.perform(put("/with-rest-cache/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + id + ", \"name\": \"Updated\"}"))
+            .andExpect(status().isOk());
+
+        this.webClient.perform(get("/with-rest-cache/" + id))
+            .andExpect(jsonPath("$.name").value("Updated"));
+        this.webClient.perform(get("/with-rest-cache"))
+            .andExpect(jsonPath("$[0].name").value("Updated"));
+
+        BoundedCache cache = applicationContext.getBean("withRestCacheServiceCache", BoundedCache.class);
+        Assertions.assertTrue(cache.getStats().hitCount() > 0);
+    }
+
+    @Test
+    public void testCachedResponse() throws Exception {
+        String content = this.webClient.perform(post("/with-rest-cache")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Cached\"}"))
+            .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readValue(content, JsonNode.class).get("id").asLong();
+
+        String first = this.webClient.perform(get("/with-rest-cache/" + id).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.name").value("Cached"))
+            .andReturn().getResponse().getContentAsString();
+
+        getJdbcTemplate().update("UPDATE WithRestCache SET name = 'Changed'");
+
+        this.webClient.perform(get("/with-rest-cache/" + id))
+            .andExpect(status().isOk())
+            .andExpect(content().string(first));
+
+        this.webClient.perform(put("/with-rest-cache/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + id + ", \"name\": \"Updated\"}"))
+            .andExpect(status().isOk());
+
+        this.webClient.perform(get("/with-rest-cache/" + id))
+            .andExpect(jsonPath("$.name").value("Updated"));
+    }
+
+    @Test
+    public void testMissingIdentifier() throws Exception {
+        this.webClient.perform(get("/with-rest-cache/999999"));
+        this.webClient.perform(get("/with-rest-cache/999999"));
+
+        BoundedCache negativeCache = applicationContext.getBean("withRestCacheServiceNegativeCache", BoundedCache.class);
+        Assertions.assertEquals(1, negativeCache.getStats().hitCount());
+    }
+
+    @Test
+    public void testCachedByController() throws Exception {
+        this.webClient.perform(get("/with-controller-cache"))
+            .andExpect(status().isOk());
+
+        Assertions.assertTrue(applicationContext.containsBean("withControllerCacheServiceCache"));
+        Assertions.assertTrue(applicationContext.containsBean("withControllerCacheServiceCountCache"));
+    }
+
+}
@@ -0,0 +1,38 @@
+package nl._42.restzilla.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import nl._42.restzilla.model.User;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+public class RestHandlerMappingTest {
+
+    private static final String ROLES_HANDLER = "roles";
+
+    @Test
+    public void testCustomSubPath() throws Exception {
+        RestHandlerMapping handlerMapping = new RestHandlerMapping(new StaticApplicationContext(), null);
+        handlerMapping.registerCustomHandler(new RolesHandlerMapping());
+
+        Assertions.assertEquals(ROLES_HANDLER, handlerMapping.getHandlerInternal(new MockHttpServletRequest("GET", "/user/1/roles")));
+        Assertions.assertEquals(ROLES_HANDLER, handlerMapping.getHandlerInternal(new MockHttpServletRequest("GET", "/user/henk/roles")));
+        Assertions.assertNull(handlerMapping.getHandlerInternal(new MockHttpServletRequest("GET", "/user/1/other")));
+        Assertions.assertNull(handlerMapping.getHandlerInternal(new MockHttpServletRequest("GET", "/other/1/roles")));
+    }
+
+    private static class RolesHandlerMapping extends ResourceHandlerMapping {
+
+        RolesHandlerMapping() {
+            super(new RestInformation(User.class));
+        }
+
+        @Override
+        public Object getHandlerInternal(HttpServletRequest request) {
+            return request.getRequestURI().endsWith("/roles") ? ROLES_HANDLER : null;
+        }
+
+    }
+
+}
@@ -3,6 +3,7 @@
  */
 package nl._42.restzilla.web;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -21,20 +22,27 @@ import nl._42.restzilla.model.WithSecurity;
 import nl._42.restzilla.model.WithService;
 import nl._42.restzilla.model.WithoutPatch;
 import nl._42.restzilla.model.dto.ValidationDto;
+import nl._42.restzilla.web.util.KeysetCursor;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.ServletRequestBindingException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -100,6 +108,25 @@ public class RestTest extends AbstractControllerTest {
             .andExpect(jsonPath("$.content[0]").doesNotExist());
     }
 
+    @Test
+    public void testFindAllAsSlice() throws Exception {
+        userBuilder.createUser("Jan");
+        userBuilder.createUser("Piet");
+
+        this.webClient.perform(get("/user?page=0&size=1&sort=name&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.number").value(0))
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].name").value("Jan"))
+            .andExpect(jsonPath("$.last").value(false))
+            .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        this.webClient.perform(get("/user?page=1&size=1&sort=name&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].name").value("Piet"))
+            .andExpect(jsonPath("$.last").value(true));
+    }
+
     @Test
     public void testFindById() throws Exception {
         User henk = userBuilder.createUser("Henk");
@@ -141,6 +168,28 @@ public class RestTest extends AbstractControllerTest {
         Assertions.assertEquals(Long.valueOf(2), getJdbcTemplate().queryForObject("SELECT count(*) FROM user", Long.class));
     }
 
+    @Test
+    public void testCreateAsArrayWithWhitespace() throws Exception {
+        this.webClient.perform(post("/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("\n  [ {\"name\": \"Piet\"}, {\"name\": \"Jan\"} ]  "))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2));
+
+        Assertions.assertEquals(Long.valueOf(2), getJdbcTemplate().queryForObject("SELECT count(*) FROM user", Long.class));
+    }
+
+    @Test
+    public void testCreateAsArrayWithResults() throws Exception {
+        this.webClient.perform(post("/with-patch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\": \"Piet\"}, {\"name\": \"Jan\"}, {\"name\": \"Henk\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("Piet"))
+            .andExpect(jsonPath("$[1].name").value("Jan"))
+            .andExpect(jsonPath("$[2].name").value("Henk"));
+    }
+
     @Test
     public void testUpdate() throws Exception {
         User henk = userBuilder.createUser("Henk");
@@ -255,6 +304,138 @@ public class RestTest extends AbstractControllerTest {
             .andExpect(jsonPath("$.size").value(10));
     }
 
+    @Test
+    public void testStreaming() throws Exception {
+        for (String name : new String[] { "B", "C", "A" }) {
+            getJdbcTemplate().update("INSERT INTO WithStreaming (name) VALUES (?)", name);
+        }
+
+        this.webClient.perform(get("/with-streaming").param("sort", "name,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].name").value("C"))
+            .andExpect(jsonPath("$[2].name").value("A"));
+
+        this.webClient.perform(get("/with-streaming").param("page", "0").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    public void testKeyset() throws Exception {
+        for (String name : new String[] { "D", "B", "E", "A", "C", "A" }) {
+            getJdbcTemplate().update("INSERT INTO WithStreaming (name) VALUES (?)", name);
+        }
+
+        String content = this.webClient.perform(get("/with-streaming").param("cursor", "").param("size", "4").param("sort", "name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(4))
+            .andExpect(jsonPath("$.content[1].name").value("A"))
+            .andExpect(jsonPath("$.content[3].name").value("C"))
+            .andExpect(jsonPath("$.last").value(false))
+            .andReturn().getResponse().getContentAsString();
+        String next = objectMapper.readTree(content).get("next").asText();
+
+        this.webClient.perform(get("/with-streaming").param("cursor", next).param("size", "4").param("sort", "name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].name").value("D"))
+            .andExpect(jsonPath("$.content[1].name").value("E"))
+            .andExpect(jsonPath("$.last").value(true));
+
+        this.webClient.perform(get("/with-streaming").param("cursor", "invalid"))
+            .andExpect(result -> Assertions.assertTrue(result.getResolvedException() instanceof ServletRequestBindingException));
+    }
+
+    @Test
+    public void testKeysetWithNulls() throws Exception {
+        for (String name : new String[] { "B", null, "A", null }) {
+            getJdbcTemplate().update("INSERT INTO WithStreaming (name) VALUES (?)", name);
+        }
+
+        assertKeyset("name", "A", "B", null, null);
+        assertKeyset("name,desc", null, null, "B", "A");
+    }
+
+    @Test
+    public void testKeysetInvalidPosition() throws Exception {
+        getJdbcTemplate().update("INSERT INTO WithStreaming (name) VALUES (?)", "A");
+
+        Map<String, Object> invalidId = new LinkedHashMap<>();
+        invalidId.put("name", "A");
+        invalidId.put("id", "abc");
+        this.webClient.perform(get("/with-streaming").param("cursor", KeysetCursor.encode(invalidId)).param("sort", "name"))
+            .andExpect(result -> Assertions.assertTrue(result.getResolvedException() instanceof ServletRequestBindingException));
+
+        Map<String, Object> missingId = new LinkedHashMap<>();
+        missingId.put("name", "A");
+        missingId.put("id", null);
+        this.webClient.perform(get("/with-streaming").param("cursor", KeysetCursor.encode(missingId)).param("sort", "name"))
+            .andExpect(result -> Assertions.assertTrue(result.getResolvedException() instanceof ServletRequestBindingException));
+
+        this.webClient.perform(get("/with-streaming").param("cursor", "").param("size", "-1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1));
+    }
+
+    private void assertKeyset(String sort, String... expected) throws Exception {
+        List<String> names = new ArrayList<>();
+        String cursor = "";
+        boolean last = false;
+        while (!last) {
+            String content = this.webClient.perform(get("/with-streaming").param("cursor", cursor).param("size", "1").param("sort", sort))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(content);
+            page.get("content").forEach(entity -> names.add(entity.get("name").isNull() ? null : entity.get("name").asText()));
+            last = page.get("last").asBoolean();
+            cursor = last ? cursor : page.get("next").asText();
+        }
+        Assertions.assertEquals(Arrays.asList(expected), names);
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        for (String name : new String[] { "A", "B", "C" }) {
+            getJdbcTemplate().update("INSERT INTO WithExport (name) VALUES (?)", name);
+        }
+        Long first = getJdbcTemplate().queryForObject("SELECT MIN(id) FROM WithExport", Long.class);
+
+        String content = this.webClient.perform(get("/with-export").accept("application/x-ndjson"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn().getResponse().getContentAsString();
+        String[] lines = content.split("\n");
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertTrue(lines[0].contains("\"A\""));
+        Assertions.assertTrue(lines[2].contains("\"C\""));
+
+        content = this.webClient.perform(get("/with-export").param("after", first.toString()).accept("application/json-seq"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        Assertions.assertTrue(content.startsWith("\u001E{"));
+        Assertions.assertEquals(2, content.split("\u001E").length - 1);
+
+        this.webClient.perform(get("/with-export"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3));
+
+        this.webClient.perform(get("/with-export").param("after", "abc").accept("application/x-ndjson"))
+            .andExpect(result -> Assertions.assertTrue(result.getResolvedException() instanceof ServletRequestBindingException));
+    }
+
+    @Test
+    public void testExportWithoutFindAll() throws Exception {
+        getJdbcTemplate().update("INSERT INTO WithExportOnly (name) VALUES (?)", "A");
+
+        this.webClient.perform(get("/with-export-only").accept("application/x-ndjson"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"));
+
+        this.webClient.perform(get("/with-export-only"))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void testPatch() throws Exception {
@@ -0,0 +1,146 @@
+package nl._42.restzilla.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import nl._42.restzilla.model.User;
+import nl._42.restzilla.model.WithBasePath;
+import nl._42.restzilla.model.WithExport;
+import nl._42.restzilla.model.WithExportOnly;
+import nl._42.restzilla.model.WithReadOnly;
+import nl._42.restzilla.model.WithoutPatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Arrays;
+
+public class RouteTableTest {
+
+    private final RouteTable routeTable = RouteTable.compile(Arrays.asList(
+        new StubHandlerMapping(User.class),
+        new StubHandlerMapping(WithBasePath.class),
+        new StubHandlerMapping(WithReadOnly.class),
+        new StubHandlerMapping(WithoutPatch.class),
+        new StubHandlerMapping(WithExport.class),
+        new StubHandlerMapping(WithExportOnly.class)
+    ));
+
+    @Test
+    public void testCollection() {
+        assertOperation(RestOperation.FIND_ALL, "/user", "GET");
+        assertOperation(RestOperation.FIND_ALL, "/user/", "GET");
+        assertOperation(RestOperation.FIND_ALL, "/user//", "GET");
+        assertOperation(RestOperation.CREATE, "/user", "POST");
+    }
+
+    @Test
+    public void testItem() {
+        assertOperation(RestOperation.FIND_ONE, "/user/42", "GET");
+        assertOperation(RestOperation.FIND_ONE, "/user/42/", "GET");
+        assertOperation(RestOperation.UPDATE, "/user/42", "PUT");
+        assertOperation(RestOperation.UPDATE, "/user/42", "PATCH");
+        assertOperation(RestOperation.DELETE, "/user/42", "DELETE");
+    }
+
+    @Test
+    public void testCaseInsensitive() {
+        assertOperation(RestOperation.FIND_ALL, "/USER", "GET");
+        assertOperation(RestOperation.FIND_ALL, "/mybasepath", "GET");
+    }
+
+    @Test
+    public void testContextPath() {
+        RouteTable.Route route = routeTable.lookup("/context/user/42", "/context".length(), "GET");
+        Assertions.assertNotNull(route);
+        Assertions.assertEquals(RestOperation.FIND_ONE, route.getOperation());
+    }
+
+    @Test
+    public void testIdentifier() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/42");
+        Assertions.assertNotNull(routeTable.lookup(request));
+        Assertions.assertEquals(42L, request.getAttribute(RouteTable.IDENTIFIER_ATTRIBUTE));
+
+        MockHttpServletRequest invalid = new MockHttpServletRequest("GET", "/user/abc");
+        Assertions.assertNull(routeTable.lookup(invalid).getOperation());
+        Assertions.assertNull(invalid.getAttribute(RouteTable.IDENTIFIER_ATTRIBUTE));
+    }
+
+    @Test
+    public void testNoMatch() {
+        Assertions.assertNull(routeTable.lookup("/unknown", 0, "GET"));
+        Assertions.assertNull(routeTable.lookup("/use", 0, "GET"));
+        Assertions.assertNull(routeTable.lookup("/users", 0, "GET"));
+    }
+
+    @Test
+    public void testFallback() {
+        assertFallback("/user/abc", "GET");
+        assertFallback("/user//42", "GET");
+        assertFallback("/user/42/other", "GET");
+        assertFallback("/user", "OPTIONS");
+        assertFallback("/user", "DELETE");
+    }
+
+    @Test
+    public void testReadOnly() {
+        assertOperation(RestOperation.FIND_ALL, "/with-read-only", "GET");
+        assertFallback("/with-read-only", "POST");
+        assertFallback("/with-read-only/1", "DELETE");
+    }
+
+    @Test
+    public void testWithoutPatch() {
+        assertOperation(RestOperation.UPDATE, "/without-patch/1", "PUT");
+        assertFallback("/without-patch/1", "PATCH");
+    }
+
+    @Test
+    public void testExport() {
+        assertOperation(RestOperation.FIND_ALL, "/with-export", "GET");
+        Assertions.assertEquals(RestOperation.FIND_ALL, lookup("/with-export", "application/json").getOperation());
+        Assertions.assertEquals(RestOperation.EXPORT, lookup("/with-export", "application/x-ndjson").getOperation());
+        Assertions.assertEquals(RestOperation.EXPORT, lookup("/with-export", "text/plain, application/json-seq").getOperation());
+        Assertions.assertEquals(RestOperation.FIND_ALL, lookup("/with-export", "invalid").getOperation());
+        Assertions.assertEquals(RestOperation.FIND_ONE, lookup("/with-export/1", "application/x-ndjson").getOperation());
+    }
+
+    @Test
+    public void testExportWithoutFindAll() {
+        Assertions.assertEquals(RestOperation.EXPORT, lookup("/with-export-only", "application/x-ndjson").getOperation());
+        Assertions.assertNull(lookup("/with-export-only", "application/json").getOperation());
+        Assertions.assertNull(routeTable.lookup("/with-export-only", 0, "GET").getOperation());
+    }
+
+    private RouteTable.Route lookup(String uri, String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("Accept", accept);
+        return routeTable.lookup(request);
+    }
+
+    private void assertFallback(String uri, String method) {
+        RouteTable.Route route = routeTable.lookup(uri, 0, method);
+        Assertions.assertNotNull(route, "No fallback for " + method + " " + uri);
+        Assertions.assertNull(route.getOperation());
+        Assertions.assertTrue(route.isShared());
+    }
+
+    private void assertOperation(RestOperation expected, String uri, String method) {
+        RouteTable.Route route = routeTable.lookup(uri, 0, method);
+        Assertions.assertNotNull(route, "No route for " + method + " " + uri);
+        Assertions.assertEquals(expected, route.getOperation());
+    }
+
+    private static class StubHandlerMapping extends ResourceHandlerMapping {
+
+        StubHandlerMapping(Class<?> resourceType) {
+            super(new RestInformation(resourceType));
+        }
+
+        @Override
+        public Object getHandlerInternal(HttpServletRequest request) {
+            return null;
+        }
+
+    }
+
+}
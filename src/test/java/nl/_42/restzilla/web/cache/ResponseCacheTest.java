@@ -0,0 +1,45 @@
+package nl._42.restzilla.web.cache;
+
+import nl._42.restzilla.service.cache.CacheInvalidation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+public class ResponseCacheTest {
+
+    private final ResponseCache cache = new ResponseCache(10, null);
+
+    @Test
+    public void testPutAndGet() {
+        byte[] response = "{}".getBytes();
+        cache.put(1L, response, cache.getGeneration());
+
+        Assertions.assertSame(response, cache.get(1L));
+        Assertions.assertNull(cache.get(2L));
+        Assertions.assertEquals(1, cache.getStats().hitCount());
+    }
+
+    @Test
+    public void testEvict() {
+        cache.put(1L, "1".getBytes(), cache.getGeneration());
+        cache.put(2L, "2".getBytes(), cache.getGeneration());
+
+        cache.evict(CacheInvalidation.of(Object.class.getName(), Collections.singletonList(1L)));
+        Assertions.assertNull(cache.get(1L));
+        Assertions.assertNotNull(cache.get(2L));
+
+        cache.evict(CacheInvalidation.all(Object.class.getName()));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSkipPutAfterEvict() {
+        long generation = cache.getGeneration();
+        cache.evict(CacheInvalidation.of(Object.class.getName(), Collections.singletonList(1L)));
+        cache.put(1L, "stale".getBytes(), generation);
+
+        Assertions.assertNull(cache.get(1L));
+    }
+
+}
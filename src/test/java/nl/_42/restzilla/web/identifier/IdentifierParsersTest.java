@@ -0,0 +1,63 @@
+package nl._42.restzilla.web.identifier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.util.UUID;
+
+public class IdentifierParsersTest {
+
+    @Test
+    public void testForType() {
+        DefaultConversionService conversionService = new DefaultConversionService();
+        Assertions.assertEquals(LongIdentifierParser.class, IdentifierParsers.forType(Long.class, conversionService).getClass());
+        Assertions.assertEquals(LongIdentifierParser.class, IdentifierParsers.forType(long.class, conversionService).getClass());
+        Assertions.assertEquals(IntegerIdentifierParser.class, IdentifierParsers.forType(Integer.class, conversionService).getClass());
+        Assertions.assertEquals(UuidIdentifierParser.class, IdentifierParsers.forType(UUID.class, conversionService).getClass());
+        Assertions.assertEquals(ConversionServiceIdentifierParser.class, IdentifierParsers.forType(String.class, conversionService).getClass());
+    }
+
+    @Test
+    public void testLong() {
+        LongIdentifierParser parser = new LongIdentifierParser();
+        Assertions.assertEquals(Long.valueOf(42), parser.parse("/user/42", 6, 8));
+        Assertions.assertEquals(Long.valueOf(Long.MAX_VALUE), parse(parser, String.valueOf(Long.MAX_VALUE)));
+        Assertions.assertNull(parse(parser, "9223372036854775808"));
+        Assertions.assertNull(parse(parser, "-1"));
+        Assertions.assertNull(parse(parser, "4a"));
+        Assertions.assertNull(parse(parser, ""));
+    }
+
+    @Test
+    public void testInteger() {
+        IntegerIdentifierParser parser = new IntegerIdentifierParser();
+        Assertions.assertEquals(Integer.valueOf(42), parse(parser, "42"));
+        Assertions.assertEquals(Integer.valueOf(Integer.MAX_VALUE), parse(parser, String.valueOf(Integer.MAX_VALUE)));
+        Assertions.assertNull(parse(parser, "2147483648"));
+        Assertions.assertNull(parse(parser, "abc"));
+    }
+
+    @Test
+    public void testUuid() {
+        UuidIdentifierParser parser = new UuidIdentifierParser();
+        UUID uuid = UUID.randomUUID();
+        Assertions.assertEquals(uuid, parse(parser, uuid.toString()));
+        Assertions.assertEquals(uuid, parse(parser, uuid.toString().toUpperCase()));
+        Assertions.assertNull(parse(parser, uuid.toString().replace('-', '_')));
+        Assertions.assertNull(parse(parser, uuid.toString().substring(1)));
+        Assertions.assertNull(parse(parser, "g" + uuid.toString().substring(1)));
+    }
+
+    @Test
+    public void testConversionService() {
+        ConversionServiceIdentifierParser<Short> parser = new ConversionServiceIdentifierParser<>(new DefaultConversionService(), Short.class);
+        Assertions.assertEquals(Short.valueOf((short) 42), parse(parser, "42"));
+        Assertions.assertNull(parse(parser, "abc"));
+    }
+
+    private static Object parse(IdentifierParser<?> parser, String value) {
+        return parser.parse(value, 0, value.length());
+    }
+
+}
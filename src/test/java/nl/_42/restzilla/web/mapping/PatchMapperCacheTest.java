@@ -0,0 +1,42 @@
+package nl._42.restzilla.web.mapping;
+
+import io.beanmapper.BeanMapper;
+import io.beanmapper.config.BeanMapperBuilder;
+import nl._42.restzilla.model.WithPatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class PatchMapperCacheTest {
+
+    private final PatchMapperCache cache = new PatchMapperCache(new BeanMapperBuilder().build(), 2);
+
+    @Test
+    public void testReuse() {
+        BeanMapper mapper = cache.getMapper(WithPatch.class, Arrays.asList("name", "email"));
+        Assertions.assertSame(mapper, cache.getMapper(WithPatch.class, Arrays.asList("email", "name")));
+        Assertions.assertNotSame(mapper, cache.getMapper(WithPatch.class, Arrays.asList("name")));
+        Assertions.assertNotSame(mapper, cache.getMapper(Object.class, Arrays.asList("name", "email")));
+
+        Assertions.assertEquals(1, cache.getStats().hitCount());
+        Assertions.assertEquals(3, cache.getStats().missCount());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testMap() {
+        WithPatch input = new WithPatch();
+        input.setName("New");
+        input.setEmail("new@42.nl");
+
+        WithPatch target = new WithPatch();
+        target.setName("Old");
+        target.setEmail("old@42.nl");
+
+        cache.getMapper(WithPatch.class, Arrays.asList("name")).map(input, target);
+        Assertions.assertEquals("New", target.getName());
+        Assertions.assertEquals("old@42.nl", target.getEmail());
+    }
+
+}
@@ -0,0 +1,43 @@
+package nl._42.restzilla.web.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl._42.restzilla.model.WithPatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class JsonUtilTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testReadValue() throws Exception {
+        String json = "{\"name\":\"Henk\",\"nested\":{\"email\":\"henk@42.nl\",\"empty\":{}},\"tags\":[{\"other\":1}]}";
+
+        Set<String> propertyNames = new HashSet<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            Object value = JsonUtil.readValue(parser, objectMapper.readerFor(Object.class), propertyNames);
+            Assertions.assertEquals(objectMapper.readValue(json, Object.class), value);
+        }
+
+        Assertions.assertEquals(JsonUtil.getPropertyNamesFromJson(json, objectMapper), propertyNames);
+        Assertions.assertEquals(Set.of("name", "nested.email", "nested.empty", "tags"), propertyNames);
+    }
+
+    @Test
+    public void testReadValueTyped() throws Exception {
+        String json = "{\"name\":\"Henk\",\"nested\":{\"nestedName\":\"Jan\"}}";
+
+        Set<String> propertyNames = new HashSet<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            WithPatch value = JsonUtil.readValue(parser, objectMapper.readerFor(WithPatch.class), propertyNames);
+            Assertions.assertEquals("Henk", value.getName());
+            Assertions.assertEquals("Jan", value.getNested().getNestedName());
+        }
+        Assertions.assertEquals(Set.of("name", "nested.nestedName"), propertyNames);
+    }
+
+}
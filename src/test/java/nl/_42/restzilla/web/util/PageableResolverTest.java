@@ -8,6 +8,7 @@ import nl._42.restzilla.SortingDefault;
 import nl._42.restzilla.model.User;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.domain.Sort.Order;
@@ -15,6 +16,8 @@ import org.springframework.mock.env.MockEnvironment;
 import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class PageableResolverTest {
 
@@ -40,6 +43,50 @@ public class PageableResolverTest {
         Assertions.assertTrue(PageableResolver.isSupported(request));
     }
     
+    @Test
+    public void testCounted() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        Assertions.assertTrue(PageableResolver.isCounted(request, true));
+        Assertions.assertFalse(PageableResolver.isCounted(request, false));
+
+        request.setParameter(PageableResolver.COUNT_PARAMETER, "false");
+        Assertions.assertFalse(PageableResolver.isCounted(request, true));
+
+        request.setParameter(PageableResolver.COUNT_PARAMETER, "true");
+        Assertions.assertTrue(PageableResolver.isCounted(request, false));
+    }
+
+    @Test
+    public void testSizeBounds() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter(PageableResolver.SIZE_PARAMETER, "-1");
+        Assertions.assertEquals(1, PageableResolver.getSize(request, properties));
+
+        request.setParameter(PageableResolver.SIZE_PARAMETER, String.valueOf(Integer.MAX_VALUE));
+        Assertions.assertEquals(properties.getMaxPageSize(), PageableResolver.getSize(request, properties));
+    }
+
+    @Test
+    public void testKeysetPosition() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        Assertions.assertFalse(PageableResolver.isKeyset(request));
+
+        request.setParameter(PageableResolver.CURSOR_PARAMETER, "");
+        Assertions.assertTrue(PageableResolver.isKeyset(request));
+        Assertions.assertTrue(PageableResolver.getPosition(request).isInitial());
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "Henk");
+        keys.put("direction", Direction.DESC);
+        keys.put("id", 42L);
+        request.setParameter(PageableResolver.CURSOR_PARAMETER, KeysetCursor.encode(keys));
+
+        KeysetScrollPosition position = PageableResolver.getPosition(request);
+        Assertions.assertEquals("Henk", position.getKeys().get("name"));
+        Assertions.assertEquals("DESC", position.getKeys().get("direction"));
+        Assertions.assertEquals("42", position.getKeys().get("id"));
+    }
+
     @Test
     public void testResolveSingleProperty() {
         MockHttpServletRequest request = new MockHttpServletRequest();